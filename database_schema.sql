@@ -1,11 +1,17 @@
 -- =====================================================
 -- Reflectly Database Schema for Neon PostgreSQL
 -- =====================================================
+-- Reference script that recreates the schema from scratch, with sample data.
+-- The application itself evolves the schema with the Flyway migrations in
+-- src/main/resources/db/migration; keep this file in sync with them.
 
 -- Drop existing tables if they exist (in correct order due to foreign keys)
+DROP TABLE IF EXISTS entry_tombstones CASCADE;
 DROP TABLE IF EXISTS entry_emotions CASCADE;
+DROP TABLE IF EXISTS emotions CASCADE;
 DROP TABLE IF EXISTS entries CASCADE;
 DROP TABLE IF EXISTS factors CASCADE;
+DROP TABLE IF EXISTS revoked_tokens CASCADE;
 DROP TABLE IF EXISTS users CASCADE;
 
 -- =====================================================
@@ -17,7 +23,9 @@ CREATE TABLE users (
     username VARCHAR(50) UNIQUE,
     full_name VARCHAR(255),
     picture_url VARCHAR(500) NOT NULL,
-    password_hash VARCHAR(255)
+    password_hash VARCHAR(255),
+    -- Bumped by the triggers below on every write to the user's entries (listing ETags)
+    entries_version BIGINT NOT NULL DEFAULT 0
 );
 
 -- Indexes for users table
@@ -38,30 +46,107 @@ CREATE TABLE factors (
 -- 3. ENTRIES TABLE
 -- =====================================================
 CREATE TABLE entries (
-    id VARCHAR(36) PRIMARY KEY,
-    user_id VARCHAR(36) NOT NULL,
+    -- Time-ordered UUIDv7, assigned by the application
+    id UUID PRIMARY KEY,
+    user_id BIGINT NOT NULL REFERENCES users(id) ON DELETE CASCADE,
     title VARCHAR(100) NOT NULL,
     reflection TEXT NOT NULL,
-    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
-    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+    -- One bit per emotion at its emotions.id; see section 5
+    emotion_mask BIGINT NOT NULL DEFAULT 0,
+    created_date TIMESTAMP WITH TIME ZONE,
+    created_by VARCHAR(255),
+    last_modified_date TIMESTAMP WITH TIME ZONE,
+    last_modified_by VARCHAR(255),
+    -- Optimistic lock, incremented on every update
+    version BIGINT NOT NULL DEFAULT 0,
+    -- Full-text search document, maintained by PostgreSQL on every write
+    search_vector TSVECTOR GENERATED ALWAYS AS (
+        setweight(to_tsvector('english', coalesce(title, '')), 'A')
+        || setweight(to_tsvector('english', coalesce(reflection, '')), 'B')
+    ) STORED
 );
 
 -- Indexes for entries table
-CREATE INDEX idx_user_entries ON entries(user_id);
-CREATE INDEX idx_entries_created_at ON entries(created_at);
+CREATE INDEX idx_entries_user_created_id ON entries(user_id, created_date DESC, id DESC);
+CREATE INDEX idx_entries_created_date ON entries(created_date);
+CREATE INDEX idx_entries_search_vector ON entries USING GIN (search_vector);
+CREATE INDEX idx_entries_user_modified_id ON entries(user_id, last_modified_date, id);
 
 -- =====================================================
 -- 4. ENTRY_EMOTIONS TABLE (ElementCollection)
 -- =====================================================
 CREATE TABLE entry_emotions (
-    entry_id VARCHAR(36) NOT NULL,
+    entry_id UUID NOT NULL,
     emotion VARCHAR(50) NOT NULL,
     PRIMARY KEY (entry_id, emotion),
     FOREIGN KEY (entry_id) REFERENCES entries(id) ON DELETE CASCADE
 );
 
 -- =====================================================
--- 5. SAMPLE DATA (Optional - for testing)
+-- 5. EMOTIONS TABLE
+-- =====================================================
+-- Vocabulary of emotion names entries may use. IDs 0-62 are bit positions in
+-- entries.emotion_mask; entries with emotions past that range are matched through
+-- entry_emotions instead. Rows are only added by migrations (V8 seeds the standard set)
+-- and IDs are never reused. Entries left with a zero mask (such as the sample data
+-- below) are backfilled by the V1 migration on first start.
+CREATE TABLE emotions (
+    id SMALLINT PRIMARY KEY,
+    name VARCHAR(50) NOT NULL UNIQUE
+);
+
+-- =====================================================
+-- 6. REVOKED_TOKENS TABLE
+-- =====================================================
+-- token_id is a JWT "jti", or "user:{id}" for a user-wide revocation
+CREATE TABLE revoked_tokens (
+    token_id VARCHAR(64) PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    revoked_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    expires_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+CREATE INDEX idx_revoked_tokens_expires_at ON revoked_tokens(expires_at);
+
+-- =====================================================
+-- 7. ENTRY_TOMBSTONES TABLE
+-- =====================================================
+-- One row per deleted entry, so delta sync can report deletions; purged after the
+-- sync retention period
+CREATE TABLE entry_tombstones (
+    entry_id UUID PRIMARY KEY,
+    user_id BIGINT NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    deleted_date TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+CREATE INDEX idx_entry_tombstones_user_deleted ON entry_tombstones(user_id, deleted_date, entry_id);
+CREATE INDEX idx_entry_tombstones_deleted_date ON entry_tombstones(deleted_date);
+
+-- Bump users.entries_version once per statement that writes entries or tombstones
+CREATE OR REPLACE FUNCTION bump_entries_version() RETURNS trigger
+LANGUAGE plpgsql AS $$
+BEGIN
+    UPDATE users SET entries_version = entries_version + 1
+    WHERE id IN (SELECT DISTINCT user_id FROM changed);
+    RETURN NULL;
+END;
+$$;
+
+CREATE TRIGGER entries_version_insert AFTER INSERT ON entries
+    REFERENCING NEW TABLE AS changed
+    FOR EACH STATEMENT EXECUTE FUNCTION bump_entries_version();
+CREATE TRIGGER entries_version_update AFTER UPDATE ON entries
+    REFERENCING NEW TABLE AS changed
+    FOR EACH STATEMENT EXECUTE FUNCTION bump_entries_version();
+CREATE TRIGGER entries_version_delete AFTER DELETE ON entries
+    REFERENCING OLD TABLE AS changed
+    FOR EACH STATEMENT EXECUTE FUNCTION bump_entries_version();
+CREATE TRIGGER entry_tombstones_version_insert AFTER INSERT ON entry_tombstones
+    REFERENCING NEW TABLE AS changed
+    FOR EACH STATEMENT EXECUTE FUNCTION bump_entries_version();
+
+-- =====================================================
+-- 8. SAMPLE DATA (Optional - for testing)
 -- =====================================================
 
 -- Insert sample users
@@ -79,10 +164,10 @@ INSERT INTO factors (name) VALUES
 ('Learning');
 
 -- Insert sample entries
-INSERT INTO entries (id, user_id, title, reflection, created_at, updated_at) VALUES 
-('550e8400-e29b-41d4-a716-446655440001', 'test-user-1', 'Great day at work', 'I had a productive day and learned new things about Spring Boot.', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP),
-('550e8400-e29b-41d4-a716-446655440002', 'test-user-1', 'Family time', 'Spent quality time with family today. Feeling grateful.', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP),
-('550e8400-e29b-41d4-a716-446655440003', 'test-user-2', 'Morning workout', 'Completed my morning run and feeling energized.', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP);
+INSERT INTO entries (id, user_id, title, reflection, created_date, last_modified_date) VALUES 
+('550e8400-e29b-41d4-a716-446655440001', 1, 'Great day at work', 'I had a productive day and learned new things about Spring Boot.', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP),
+('550e8400-e29b-41d4-a716-446655440002', 1, 'Family time', 'Spent quality time with family today. Feeling grateful.', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP),
+('550e8400-e29b-41d4-a716-446655440003', 2, 'Morning workout', 'Completed my morning run and feeling energized.', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP);
 
 -- Insert sample emotions for entries
 INSERT INTO entry_emotions (entry_id, emotion) VALUES 
@@ -97,7 +182,7 @@ INSERT INTO entry_emotions (entry_id, emotion) VALUES
 ('550e8400-e29b-41d4-a716-446655440003', 'motivated');
 
 -- =====================================================
--- 6. VERIFY TABLES CREATED
+-- 9. VERIFY TABLES CREATED
 -- =====================================================
 -- Run these queries to verify the schema was created correctly:
 
@@ -106,3 +191,6 @@ INSERT INTO entry_emotions (entry_id, emotion) VALUES
 -- SELECT * FROM factors;
 -- SELECT * FROM entries;
 -- SELECT * FROM entry_emotions;
+-- SELECT * FROM emotions;
+-- SELECT * FROM revoked_tokens;
+-- SELECT * FROM entry_tombstones;
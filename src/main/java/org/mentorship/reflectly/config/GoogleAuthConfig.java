@@ -1,16 +1,48 @@
 package org.mentorship.reflectly.config;
 
 import com.google.api.client.googleapis.auth.oauth2.GoogleIdTokenVerifier;
-import com.google.api.client.http.javanet.NetHttpTransport;
+import com.google.api.client.http.HttpTransport;
+import com.google.api.client.http.apache.v2.ApacheHttpTransport;
 import com.google.api.client.json.gson.GsonFactory;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.concurrent.TimeUnit;
+
 @Configuration
 public class GoogleAuthConfig {
 
+    /**
+     * Shared, connection-pooled transport for all calls to Google (code exchange and
+     * certificate fetches), so logins reuse warm TLS connections.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public HttpTransport googleHttpTransport(
+            @Value("${app.google.http.max-connections:20}") int maxConnections,
+            @Value("${app.google.http.connect-timeout-ms:5000}") int connectTimeoutMs,
+            @Value("${app.google.http.read-timeout-ms:10000}") int readTimeoutMs) {
+        PoolingHttpClientConnectionManager connectionManager =
+                new PoolingHttpClientConnectionManager(60, TimeUnit.SECONDS);
+        connectionManager.setMaxTotal(maxConnections);
+        connectionManager.setDefaultMaxPerRoute(maxConnections);
+
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectTimeout(connectTimeoutMs)
+                .setConnectionRequestTimeout(connectTimeoutMs)
+                .setSocketTimeout(readTimeoutMs)
+                .build();
+
+        return new ApacheHttpTransport(ApacheHttpTransport.newDefaultHttpClientBuilder()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(requestConfig)
+                .build());
+    }
+
     @Bean
-    public GoogleIdTokenVerifier googleIdTokenVerifier() {
-        return new GoogleIdTokenVerifier.Builder(new NetHttpTransport(), GsonFactory.getDefaultInstance()).build();
+    public GoogleIdTokenVerifier googleIdTokenVerifier(HttpTransport googleHttpTransport) {
+        return new GoogleIdTokenVerifier.Builder(googleHttpTransport, GsonFactory.getDefaultInstance()).build();
     }
-}
\ No newline at end of file
+}
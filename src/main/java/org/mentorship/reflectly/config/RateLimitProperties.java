@@ -0,0 +1,60 @@
+package org.mentorship.reflectly.config;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Per-route-group token bucket limits, bound from "app.rate-limit".
+ * A request belongs to the group with the longest matching path prefix. Every request is
+ * limited per client IP, and authenticated requests per user too; the IP limits default to
+ * the per-user ones and can be raised for clients sharing an address. Limits are
+ * validated at startup, so a zero or negative rate fails fast instead of at the first request.
+ */
+@Data
+@Validated
+@Component
+@ConfigurationProperties(prefix = "app.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    /** Buckets untouched for this long are dropped to keep memory bounded */
+    private Duration idleTimeout = Duration.ofMinutes(10);
+
+    private Map<String, @Valid Group> groups = new LinkedHashMap<>();
+
+    @Data
+    public static class Group {
+        @NotBlank
+        private String pathPrefix;
+        /** Maximum burst size per user */
+        @Positive
+        private int capacity;
+        /** Sustained rate per user in requests per second */
+        @Positive
+        private double refillPerSecond;
+        /** Maximum burst size per client IP, checked before authentication; defaults to capacity */
+        @Positive
+        private Integer ipCapacity;
+        /** Sustained rate per client IP in requests per second; defaults to refillPerSecond */
+        @Positive
+        private Double ipRefillPerSecond;
+
+        public int ipCapacity() {
+            return ipCapacity != null ? ipCapacity : capacity;
+        }
+
+        public double ipRefillPerSecond() {
+            return ipRefillPerSecond != null ? ipRefillPerSecond : refillPerSecond;
+        }
+    }
+}
@@ -1,15 +1,65 @@
 package org.mentorship.reflectly.config;
 
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.util.Map;
+
+@Slf4j
 @Configuration
 public class SecurityBeansConfig {
 
+    private static final String BCRYPT_ID = "bcrypt";
+    // Work factor used for timing samples; cheap enough to run at startup
+    private static final int SAMPLE_STRENGTH = 8;
+    private static final int SAMPLE_ROUNDS = 5;
+
+    /**
+     * BCrypt encoder whose work factor is calibrated at startup to the configured target
+     * latency on the current hardware, wrapped in a DelegatingPasswordEncoder. Hashes are
+     * stored as "{bcrypt}..."; legacy unprefixed hashes still match, and any hash with a
+     * different id or a lower work factor reports upgradeEncoding() so it can be rehashed
+     * on the next successful login.
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+            @Value("${app.password-hashing.target-latency-ms:80}") long targetLatencyMs,
+            @Value("${app.password-hashing.min-strength:10}") int minStrength,
+            @Value("${app.password-hashing.max-strength:14}") int maxStrength) {
+        int strength = calibrateBCryptStrength(targetLatencyMs, minStrength, maxStrength);
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(strength);
+
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder(BCRYPT_ID, Map.of(BCRYPT_ID, bcrypt));
+        encoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        return encoder;
+    }
+
+    /**
+     * Pick the highest BCrypt strength whose hash time stays within the target. Each
+     * strength step doubles the work, so one timed sample at a low strength is enough
+     * to extrapolate.
+     */
+    private int calibrateBCryptStrength(long targetLatencyMs, int minStrength, int maxStrength) {
+        BCryptPasswordEncoder sampleEncoder = new BCryptPasswordEncoder(SAMPLE_STRENGTH);
+        // Warm up so the JIT does not inflate the sample
+        sampleEncoder.encode("calibration-warmup");
+
+        long start = System.nanoTime();
+        for (int i = 0; i < SAMPLE_ROUNDS; i++) {
+            sampleEncoder.encode("calibration-sample-" + i);
+        }
+        double sampleMs = Math.max((System.nanoTime() - start) / 1_000_000.0 / SAMPLE_ROUNDS, 0.01);
+
+        int doublings = (int) Math.floor(Math.log(targetLatencyMs / sampleMs) / Math.log(2));
+        int strength = Math.max(minStrength, Math.min(maxStrength, SAMPLE_STRENGTH + doublings));
+
+        log.info("BCrypt strength calibrated to {} (strength {} sample: {} ms, target: {} ms)",
+                strength, SAMPLE_STRENGTH, String.format("%.2f", sampleMs), targetLatencyMs);
+        return strength;
     }
 }
@@ -5,9 +5,14 @@ public class ApiConstants {
     public static final String SUCCESS = "200";
     public static final String CREATED = "201";
     public static final String NO_CONTENT = "204";
+    public static final String NOT_MODIFIED = "304";
     public static final String BAD_REQUEST = "400";
     public static final String UNAUTHORIZED = "401";
     public static final String NOT_FOUND = "404";
+    public static final String CONFLICT = "409";
+    public static final String GONE = "410";
+    public static final String PRECONDITION_FAILED = "412";
+    public static final String SERVICE_UNAVAILABLE = "503";
 
     public static final String VALIDATION_FAILED = "Validation failed";
     public static final String INTERNAL_SERVER_ERROR_MESSAGE = "Internal server error occurred";
@@ -10,15 +10,20 @@ import org.mentorship.reflectly.constants.ApiConstants;
 import org.mentorship.reflectly.dto.AuthLoginRequestDto;
 import org.mentorship.reflectly.dto.AuthLoginResponseDto;
 import org.mentorship.reflectly.dto.CredentialLoginRequestDto;
+import org.mentorship.reflectly.dto.RefreshTokenRequestDto;
 import org.mentorship.reflectly.dto.SignupRequestDto;
 import org.mentorship.reflectly.service.AuthService;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.concurrent.CompletableFuture;
+
 @RestController
 @RequestMapping("/api/auth")
 @Tag(name = "Authentication", description = "Authentication APIs")
@@ -34,13 +39,14 @@ public class AuthController {
     @ApiResponses(value = {
         @ApiResponse(responseCode = ApiConstants.SUCCESS, description = "Login successful"),
         @ApiResponse(responseCode = ApiConstants.BAD_REQUEST, description = "Invalid Google auth code"),
-        @ApiResponse(responseCode = ApiConstants.UNAUTHORIZED, description = "Google token verification failed")
+        @ApiResponse(responseCode = ApiConstants.UNAUTHORIZED, description = "Google token verification failed"),
+        @ApiResponse(responseCode = ApiConstants.SERVICE_UNAVAILABLE, description = "Too many concurrent logins")
     })
     @PostMapping("/google")
-    public ResponseEntity<AuthLoginResponseDto> loginWithGoogle(
+    public CompletableFuture<ResponseEntity<AuthLoginResponseDto>> loginWithGoogle(
             @Valid @RequestBody AuthLoginRequestDto request) {
-        AuthLoginResponseDto response = authService.loginWithGoogle(request.getAuthCode());
-        return ResponseEntity.ok(response);
+        return authService.loginWithGoogle(request.getAuthCode())
+                .thenApply(ResponseEntity::ok);
     }
 
     @Operation(
@@ -49,14 +55,14 @@ public class AuthController {
     )
     @ApiResponses(value = {
         @ApiResponse(responseCode = ApiConstants.SUCCESS, description = "Login successful"),
-        @ApiResponse(responseCode = ApiConstants.UNAUTHORIZED, description = "Invalid username or password")
+        @ApiResponse(responseCode = ApiConstants.UNAUTHORIZED, description = "Invalid username or password"),
+        @ApiResponse(responseCode = ApiConstants.SERVICE_UNAVAILABLE, description = "Too many concurrent sign-ins")
     })
     @PostMapping("/login")
-    public ResponseEntity<AuthLoginResponseDto> loginWithCredentials(
+    public CompletableFuture<ResponseEntity<AuthLoginResponseDto>> loginWithCredentials(
             @Valid @RequestBody CredentialLoginRequestDto request) {
-        AuthLoginResponseDto response = authService.loginWithCredentials(
-                request.getUsername(), request.getPassword());
-        return ResponseEntity.ok(response);
+        return authService.loginWithCredentials(request.getUsername(), request.getPassword())
+                .thenApply(ResponseEntity::ok);
     }
 
     @Operation(
@@ -65,13 +71,45 @@ public class AuthController {
     )
     @ApiResponses(value = {
         @ApiResponse(responseCode = ApiConstants.CREATED, description = "Registration successful"),
-        @ApiResponse(responseCode = ApiConstants.BAD_REQUEST, description = "Username already taken or validation failed")
+        @ApiResponse(responseCode = ApiConstants.BAD_REQUEST, description = "Username already taken or validation failed"),
+        @ApiResponse(responseCode = ApiConstants.SERVICE_UNAVAILABLE, description = "Too many concurrent sign-ins")
     })
     @PostMapping("/signup")
-    public ResponseEntity<AuthLoginResponseDto> signup(
+    public CompletableFuture<ResponseEntity<AuthLoginResponseDto>> signup(
             @Valid @RequestBody SignupRequestDto request) {
-        AuthLoginResponseDto response = authService.signup(
-                request.getUsername(), request.getPassword(), request.getFullName());
-        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        return authService.signup(request.getUsername(), request.getPassword(), request.getFullName())
+                .thenApply(response -> ResponseEntity.status(HttpStatus.CREATED).body(response));
+    }
+
+    @Operation(
+        summary = "Refresh tokens",
+        description = "Exchange a refresh token for a new access token and refresh token. Each refresh token can be used once."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = ApiConstants.SUCCESS, description = "Tokens refreshed"),
+        @ApiResponse(responseCode = ApiConstants.UNAUTHORIZED, description = "Refresh token invalid, expired or revoked")
+    })
+    @PostMapping("/refresh")
+    public ResponseEntity<AuthLoginResponseDto> refresh(
+            @Valid @RequestBody RefreshTokenRequestDto request) {
+        return ResponseEntity.ok(authService.refresh(request.getRefreshToken()));
+    }
+
+    @Operation(
+        summary = "Logout",
+        description = "Revoke the bearer access token and, if provided, the refresh token"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = ApiConstants.NO_CONTENT, description = "Tokens revoked")
+    })
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+            @RequestBody(required = false) RefreshTokenRequestDto request) {
+        String accessToken = authorization != null && authorization.startsWith("Bearer ")
+                ? authorization.substring(7)
+                : null;
+        authService.logout(accessToken, request != null ? request.getRefreshToken() : null);
+        return ResponseEntity.noContent().build();
     }
 }
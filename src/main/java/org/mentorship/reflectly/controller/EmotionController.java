@@ -0,0 +1,36 @@
+package org.mentorship.reflectly.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.mentorship.reflectly.constants.ApiConstants;
+import org.mentorship.reflectly.service.EmotionDictionary;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/emotions")
+@Tag(name = "Emotions", description = "Emotion vocabulary")
+@RequiredArgsConstructor
+public class EmotionController {
+
+    private final EmotionDictionary emotionDictionary;
+
+    @Operation(
+        summary = "List emotions",
+        description = "Get every emotion an entry may be tagged with; other names are rejected"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = ApiConstants.SUCCESS, description = "Emotions retrieved successfully"),
+        @ApiResponse(responseCode = ApiConstants.UNAUTHORIZED, description = "Not authenticated")
+    })
+    @GetMapping
+    public List<String> getEmotions() {
+        return emotionDictionary.names();
+    }
+}
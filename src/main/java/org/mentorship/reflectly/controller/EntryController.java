@@ -1,24 +1,52 @@
 package org.mentorship.reflectly.controller;
 
 import org.mentorship.reflectly.constants.ApiConstants;
+import org.mentorship.reflectly.dto.ChangeToken;
+import org.mentorship.reflectly.dto.CursorPageDto;
+import org.mentorship.reflectly.dto.EmotionMatch;
+import org.mentorship.reflectly.dto.EntryBatchRequestDto;
+import org.mentorship.reflectly.dto.EntryBatchResultDto;
+import org.mentorship.reflectly.dto.EntryChangesDto;
+import org.mentorship.reflectly.dto.EntryCursor;
+import org.mentorship.reflectly.dto.EntryPatchDto;
 import org.mentorship.reflectly.dto.EntryRequestDto;
 import org.mentorship.reflectly.dto.EntryResponseDto;
+import org.mentorship.reflectly.dto.EntrySearchResultDto;
+import org.mentorship.reflectly.dto.ExportFormat;
 import org.mentorship.reflectly.dto.PagedResponseDto;
 import org.mentorship.reflectly.exception.ValidationException;
 import org.mentorship.reflectly.security.GoogleAuthenticationToken;
+import org.mentorship.reflectly.service.EntryBatchService;
+import org.mentorship.reflectly.service.EntryChangeService;
+import org.mentorship.reflectly.service.EntryExportService;
+import org.mentorship.reflectly.service.EntryImportService;
 import org.mentorship.reflectly.service.EntryService;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import org.springframework.web.bind.annotation.DeleteMapping;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.net.URI;
+import java.util.List;
+import java.util.Optional;
+import java.util.zip.GZIPOutputStream;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
@@ -28,6 +56,11 @@ import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import org.springdoc.core.annotations.ParameterObject;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 
@@ -36,21 +69,62 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class EntryController {
 
+    private static final MediaType GZIP = MediaType.parseMediaType("application/gzip");
+    private static final int GZIP_BUFFER_SIZE = 8192;
+
     private final EntryService entryService;
+    private final EntryExportService entryExportService;
+    private final EntryImportService entryImportService;
+    private final EntryBatchService entryBatchService;
+    private final EntryChangeService entryChangeService;
+    private final ObjectMapper objectMapper;
 
-    @Operation(summary = "Get all entries", description = "Get all entries for the current user with optional filtering by date range or emotion. Note: Both startDate and endDate must be provided together for date range filtering.")
+    @Operation(summary = "Get all entries", description = "Get entries for the current user, newest first unless sort=createdDate,asc. "
+            + "Optionally filter by creation date (startDate/endDate as ISO dates, local date-times in the given timezone, or date-times with an offset; a date-only endDate includes that whole day) "
+            + "and by emotions (repeat the emotion parameter; match=ANY or ALL). All filters are combined into a single query. "
+            + "Pass the cursor parameter (empty for the first page) to use keyset pagination instead, which follows nextLink without skipping rows, "
+            + "only counts the total when includeTotal=true, and does not support filters. "
+            + "The response carries an ETag that changes with any change to the user's entries; send it back in If-None-Match to get 304.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = ApiConstants.SUCCESS, description = "Entries retrieved successfully"),
+            @ApiResponse(responseCode = ApiConstants.NOT_MODIFIED, description = "Entries unchanged since the If-None-Match ETag"),
             @ApiResponse(responseCode = ApiConstants.BAD_REQUEST, description = "Validation error"),
             @ApiResponse(responseCode = ApiConstants.UNAUTHORIZED, description = "Invalid or missing authentication token")
     })
     @GetMapping
     public ResponseEntity<PagedResponseDto<EntryResponseDto>> getAllEntries(
             GoogleAuthenticationToken authentication,
-            @ParameterObject Pageable pageable) {
+            @Parameter(description = "Opaque cursor from a previous nextLink; empty to start keyset pagination")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Whether to count all entries in keyset mode")
+            @RequestParam(defaultValue = "false") boolean includeTotal,
+            @Parameter(description = "Only return entries created on or after this date")
+            @RequestParam(required = false) String startDate,
+            @Parameter(description = "Only return entries created on or before this date")
+            @RequestParam(required = false) String endDate,
+            @Parameter(description = "IANA timezone for dates without an offset, e.g. Europe/Berlin")
+            @RequestParam(defaultValue = "UTC") String timezone,
+            @Parameter(description = "Only return entries tagged with these emotions")
+            @RequestParam(required = false) List<String> emotion,
+            @Parameter(description = "Whether entries must match ANY or ALL of the emotions")
+            @RequestParam(defaultValue = "ANY") EmotionMatch match,
+            @ParameterObject Pageable pageable,
+            ServletWebRequest webRequest) {
+
+        Long userId = getUserIdFromAuthentication(authentication);
+        String query = webRequest.getRequest().getQueryString();
+        if (notModified(webRequest, entryService.getEntriesETag(userId, query != null ? query : ""))) {
+            return null;
+        }
+        if (cursor != null) {
+            if (startDate != null || endDate != null || (emotion != null && !emotion.isEmpty())) {
+                throw new ValidationException("Filters do not support cursor pagination");
+            }
+            return ResponseEntity.ok(getEntriesByCursor(userId, cursor, includeTotal, pageable.getPageSize()));
+        }
 
-        String userId = getUserIdFromAuthentication(authentication);
-        Page<EntryResponseDto> pageResult = entryService.getAllEntries(userId, pageable);
+        Page<EntryResponseDto> pageResult = entryService.getEntries(
+                userId, startDate, endDate, timezone, emotion, match, pageable);
 
         // Generate nextLink
         String nextLink = null;
@@ -68,20 +142,144 @@ public class EntryController {
         ));
     }
 
-    @Operation(summary = "Get entry by ID", description = "Get a specific entry by its ID for the current user")
+    @Operation(summary = "Get entry changes", description = "Delta sync: entries created, updated or deleted after the since token, oldest first. "
+            + "Omit since for the first sync. Store nextToken and pass it as since next time; while hasMore is true, request the next page right away. "
+            + "The most recent changes may be delivered twice, so apply them idempotently. "
+            + "A token from a client that has not synced within the tombstone retention period is rejected with 410; sync again without a token.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = ApiConstants.SUCCESS, description = "Changes retrieved successfully"),
+            @ApiResponse(responseCode = ApiConstants.BAD_REQUEST, description = "Invalid change token"),
+            @ApiResponse(responseCode = ApiConstants.UNAUTHORIZED, description = "Invalid or missing authentication token"),
+            @ApiResponse(responseCode = ApiConstants.GONE, description = "Change token has expired")
+    })
+    @GetMapping("/changes")
+    public ResponseEntity<EntryChangesDto> getChanges(
+            GoogleAuthenticationToken authentication,
+            @Parameter(description = "nextToken from the previous sync; omit for the first sync") @RequestParam(required = false) String since,
+            @Parameter(description = "Maximum number of changes (up to 500)") @RequestParam(defaultValue = "100") int size) {
+
+        Long userId = getUserIdFromAuthentication(authentication);
+        ChangeToken token = since == null || since.isEmpty() ? null : ChangeToken.decode(since);
+        return ResponseEntity.ok(entryChangeService.getChanges(userId, token, size));
+    }
+
+    @Operation(summary = "Search entries", description = "Full-text search over the current user's entry titles and reflections, best match first. "
+            + "Supports quoted phrases, \"or\" and -exclusions. Highlights are HTML-escaped with matched terms wrapped in <mark> tags.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = ApiConstants.SUCCESS, description = "Search results retrieved successfully"),
+            @ApiResponse(responseCode = ApiConstants.BAD_REQUEST, description = "Validation error"),
+            @ApiResponse(responseCode = ApiConstants.UNAUTHORIZED, description = "Invalid or missing authentication token")
+    })
+    @GetMapping("/search")
+    public ResponseEntity<PagedResponseDto<EntrySearchResultDto>> searchEntries(
+            GoogleAuthenticationToken authentication,
+            @Parameter(description = "Search query") @RequestParam String q,
+            @ParameterObject Pageable pageable) {
+
+        Long userId = getUserIdFromAuthentication(authentication);
+        Page<EntrySearchResultDto> pageResult = entryService.searchEntries(userId, q, pageable);
+
+        String nextLink = null;
+        if (pageResult.hasNext()) {
+            nextLink = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .replaceQueryParam("page", pageResult.getNumber() + 1)
+                    .toUriString();
+        }
+
+        return ResponseEntity.ok(new PagedResponseDto<>(
+                pageResult.getContent(),
+                pageResult.getTotalElements(),
+                nextLink
+        ));
+    }
+
+    @Operation(summary = "Export entries", description = "Download all of the current user's entries, newest first, as NDJSON or CSV, optionally gzip-compressed. "
+            + "The file is streamed as it is read, so exports of any size use constant server memory.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = ApiConstants.SUCCESS, description = "Export streamed successfully"),
+            @ApiResponse(responseCode = ApiConstants.UNAUTHORIZED, description = "Invalid or missing authentication token")
+    })
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportEntries(
+            GoogleAuthenticationToken authentication,
+            @Parameter(description = "NDJSON or CSV") @RequestParam(defaultValue = "NDJSON") ExportFormat format,
+            @Parameter(description = "Whether to gzip the file") @RequestParam(defaultValue = "false") boolean gzip) {
+
+        Long userId = getUserIdFromAuthentication(authentication);
+        String filename = "entries." + format.getExtension() + (gzip ? ".gz" : "");
+        StreamingResponseBody body = outputStream -> {
+            if (gzip) {
+                GZIPOutputStream gzipStream = new GZIPOutputStream(outputStream, GZIP_BUFFER_SIZE);
+                entryExportService.export(userId, format, gzipStream);
+                gzipStream.finish();
+            } else {
+                entryExportService.export(userId, format, outputStream);
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(gzip ? GZIP : format.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
+    }
+
+    @Operation(summary = "Import entries", description = "Bulk-create entries for the current user from a JSON array or NDJSON (one entry per line). "
+            + "Each entry takes the same fields as create plus an optional createdAt timestamp. Entries are validated one by one and written in chunks; "
+            + "invalid entries are skipped and reported by their position. The response is NDJSON: a progress line after each written chunk "
+            + "and a final line with complete and errors.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = ApiConstants.SUCCESS, description = "Import ran; see the final report line"),
+            @ApiResponse(responseCode = ApiConstants.BAD_REQUEST, description = "Body is not a JSON array or object stream"),
+            @ApiResponse(responseCode = ApiConstants.UNAUTHORIZED, description = "Invalid or missing authentication token")
+    })
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public void importEntries(
+            GoogleAuthenticationToken authentication,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+
+        Long userId = getUserIdFromAuthentication(authentication);
+        ObjectWriter reportWriter = objectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        entryImportService.importEntries(userId, request.getInputStream(), report -> {
+            try {
+                if (!response.isCommitted()) {
+                    response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+                }
+                OutputStream outputStream = response.getOutputStream();
+                reportWriter.writeValue(outputStream, report);
+                outputStream.write('\n');
+                outputStream.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    @Operation(summary = "Get entry by ID", description = "Get a specific entry by its ID for the current user. "
+            + "The response carries an ETag; send it back in If-None-Match to get 304 while the entry is unchanged.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = ApiConstants.SUCCESS, description = "Entry retrieved successfully"),
+            @ApiResponse(responseCode = ApiConstants.NOT_MODIFIED, description = "Entry unchanged since the If-None-Match ETag"),
             @ApiResponse(responseCode = ApiConstants.NOT_FOUND, description = "Entry not found"),
             @ApiResponse(responseCode = ApiConstants.UNAUTHORIZED, description = "Invalid or missing authentication token")
     })
     @GetMapping("/{id}")
     public ResponseEntity<EntryResponseDto> getEntryById(
             @Parameter(description = "Entry ID") @PathVariable String id,
-            GoogleAuthenticationToken authentication) {
+            GoogleAuthenticationToken authentication,
+            ServletWebRequest webRequest) {
 
-        String userId = getUserIdFromAuthentication(authentication);
+        Long userId = getUserIdFromAuthentication(authentication);
+        // Only a conditional request is worth a version lookup ahead of the read itself
+        if (webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            Optional<String> etag = entryService.getEntryETag(userId, id);
+            if (etag.isPresent() && notModified(webRequest, etag.get())) {
+                return null;
+            }
+        }
         EntryResponseDto entry = entryService.getEntryById(userId, id);
-        return ResponseEntity.ok(entry);
+        return ResponseEntity.ok().eTag(entryService.getEntryETag(entry)).body(entry);
     }
 
     @Operation(summary = "Create new entry", description = "Create a new entry for the current user")
@@ -95,7 +293,7 @@ public class EntryController {
             @Valid @RequestBody EntryRequestDto requestDto,
             GoogleAuthenticationToken authentication) {
 
-        String userId = getUserIdFromAuthentication(authentication);
+        Long userId = getUserIdFromAuthentication(authentication);
         EntryResponseDto entry = entryService.createEntry(userId, requestDto);
         URI location = ServletUriComponentsBuilder.fromCurrentRequest()
                 .path("/{id}")
@@ -104,22 +302,67 @@ public class EntryController {
         return ResponseEntity.created(location).body(entry);
     }
 
-    @Operation(summary = "Update entry", description = "Update an existing entry for the current user")
+    @Operation(summary = "Apply a batch of entry changes", description = "Apply an ordered list of up to 100 CREATE, UPDATE and DELETE operations in one transaction, "
+            + "e.g. to replay changes made while offline. Creates may carry a client-generated UUID so later operations in the batch can refer to the entry "
+            + "and a replayed create is reported as a conflict. Updates and deletes may carry the version they were based on; "
+            + "if the entry has changed since, that operation is rejected with 412. Each result holds the status the single-entry call would have returned; "
+            + "failed operations are skipped without affecting the others.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = ApiConstants.SUCCESS, description = "Batch applied; see the per-operation results"),
+            @ApiResponse(responseCode = ApiConstants.BAD_REQUEST, description = "Missing, empty or oversized operation list"),
+            @ApiResponse(responseCode = ApiConstants.UNAUTHORIZED, description = "Invalid or missing authentication token")
+    })
+    @PostMapping("/batch")
+    public ResponseEntity<List<EntryBatchResultDto>> applyBatch(
+            @Valid @RequestBody EntryBatchRequestDto requestDto,
+            GoogleAuthenticationToken authentication) {
+
+        Long userId = getUserIdFromAuthentication(authentication);
+        return ResponseEntity.ok(entryBatchService.applyBatch(userId, requestDto.getOperations()));
+    }
+
+    @Operation(summary = "Update entry", description = "Update an existing entry for the current user. "
+            + "Send the entry's ETag in If-Match to only update it if nobody changed it since it was read.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = ApiConstants.SUCCESS, description = "Entry updated successfully"),
             @ApiResponse(responseCode = ApiConstants.BAD_REQUEST, description = "Validation error"),
             @ApiResponse(responseCode = ApiConstants.NOT_FOUND, description = "Entry not found"),
+            @ApiResponse(responseCode = ApiConstants.CONFLICT, description = "Entry was modified concurrently"),
+            @ApiResponse(responseCode = ApiConstants.PRECONDITION_FAILED, description = "Entry no longer matches If-Match"),
             @ApiResponse(responseCode = ApiConstants.UNAUTHORIZED, description = "Invalid or missing authentication token")
     })
     @PutMapping("/{id}")
     public ResponseEntity<EntryResponseDto> updateEntry(
             @Parameter(description = "Entry ID") @PathVariable String id,
             @Valid @RequestBody EntryRequestDto requestDto,
+            @Parameter(description = "ETag the entry must still have") @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             GoogleAuthenticationToken authentication) {
 
-        String userId = getUserIdFromAuthentication(authentication);
-        EntryResponseDto entry = entryService.updateEntry(userId, id, requestDto);
-        return ResponseEntity.ok(entry);
+        Long userId = getUserIdFromAuthentication(authentication);
+        EntryResponseDto entry = entryService.updateEntry(userId, id, requestDto, ifMatch);
+        return ResponseEntity.ok().eTag(entryService.getEntryETag(entry)).body(entry);
+    }
+
+    @Operation(summary = "Patch entry", description = "Change only the given fields of an entry for the current user; missing or null fields keep their value. "
+            + "Send the entry's ETag in If-Match to only update it if nobody changed it since it was read.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = ApiConstants.SUCCESS, description = "Entry updated successfully"),
+            @ApiResponse(responseCode = ApiConstants.BAD_REQUEST, description = "Validation error"),
+            @ApiResponse(responseCode = ApiConstants.NOT_FOUND, description = "Entry not found"),
+            @ApiResponse(responseCode = ApiConstants.CONFLICT, description = "Entry was modified concurrently"),
+            @ApiResponse(responseCode = ApiConstants.PRECONDITION_FAILED, description = "Entry no longer matches If-Match"),
+            @ApiResponse(responseCode = ApiConstants.UNAUTHORIZED, description = "Invalid or missing authentication token")
+    })
+    @PatchMapping("/{id}")
+    public ResponseEntity<EntryResponseDto> patchEntry(
+            @Parameter(description = "Entry ID") @PathVariable String id,
+            @Valid @RequestBody EntryPatchDto patchDto,
+            @Parameter(description = "ETag the entry must still have") @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            GoogleAuthenticationToken authentication) {
+
+        Long userId = getUserIdFromAuthentication(authentication);
+        EntryResponseDto entry = entryService.patchEntry(userId, id, patchDto, ifMatch);
+        return ResponseEntity.ok().eTag(entryService.getEntryETag(entry)).body(entry);
     }
 
     @Operation(summary = "Delete entry", description = "Delete an entry for the current user")
@@ -131,14 +374,40 @@ public class EntryController {
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteEntry(
             @Parameter(description = "Entry ID") @PathVariable String id, GoogleAuthenticationToken authentication) {
-        String userId = getUserIdFromAuthentication(authentication);
+        Long userId = getUserIdFromAuthentication(authentication);
         entryService.deleteEntry(userId, id);
         return ResponseEntity.noContent().build();
     }
 
-    private String getUserIdFromAuthentication(GoogleAuthenticationToken authentication) {
+    private PagedResponseDto<EntryResponseDto> getEntriesByCursor(
+            Long userId, String cursor, boolean includeTotal, int size) {
+        EntryCursor position = cursor.isEmpty() ? null : EntryCursor.decode(cursor);
+        CursorPageDto<EntryResponseDto> pageResult = entryService.getEntriesPage(userId, position, size, includeTotal);
+
+        // Generate nextLink carrying the cursor of the last entry on this page
+        String nextLink = null;
+        if (pageResult.nextCursor() != null) {
+            nextLink = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .replaceQueryParam("cursor", pageResult.nextCursor())
+                    .replaceQueryParam("page")
+                    .toUriString();
+        }
+
+        return new PagedResponseDto<>(pageResult.content(), pageResult.total(), nextLink);
+    }
+
+    /**
+     * Answer 304 if the request's If-None-Match matches the ETag; otherwise the ETag is
+     * added to the response. Clients may keep responses but must revalidate every time.
+     */
+    private static boolean notModified(ServletWebRequest webRequest, String etag) {
+        webRequest.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().cachePrivate().getHeaderValue());
+        return webRequest.checkNotModified(etag);
+    }
+
+    private Long getUserIdFromAuthentication(GoogleAuthenticationToken authentication) {
         if (authentication != null && authentication.getUser() != null) {
-            return authentication.getUser().getId().toString();
+            return authentication.getUser().getId();
         }
         throw new RuntimeException(ApiConstants.USER_NOT_AUTHENTICATED);
     }
@@ -21,6 +21,7 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/users")
@@ -66,14 +67,14 @@ public class UserController {
     @ApiResponses(value = {
         @ApiResponse(responseCode = ApiConstants.SUCCESS, description = "Password changed successfully"),
         @ApiResponse(responseCode = ApiConstants.BAD_REQUEST, description = "Validation failed"),
-        @ApiResponse(responseCode = ApiConstants.UNAUTHORIZED, description = "Current password is incorrect or not authenticated")
+        @ApiResponse(responseCode = ApiConstants.UNAUTHORIZED, description = "Current password is incorrect or not authenticated"),
+        @ApiResponse(responseCode = ApiConstants.SERVICE_UNAVAILABLE, description = "Too many concurrent sign-ins")
     })
     @PutMapping("/password")
-    public ResponseEntity<UserProfileRecord> changePassword(
+    public CompletableFuture<ResponseEntity<UserProfileRecord>> changePassword(
             @Valid @RequestBody ChangePasswordRequestDto request) {
-        UserEntity updated = userService.changePassword(
-                request.getCurrentPassword(), request.getNewPassword());
-        return ResponseEntity.ok(userService.toProfileRecord(updated));
+        return userService.changePassword(request.getCurrentPassword(), request.getNewPassword())
+                .thenApply(updated -> ResponseEntity.ok(userService.toProfileRecord(updated)));
     }
 
     @Operation(
@@ -1,12 +1,18 @@
 package org.mentorship.reflectly.converter;
 
+import org.mentorship.reflectly.dto.EntryPatchDto;
 import org.mentorship.reflectly.dto.EntryRequestDto;
 import org.mentorship.reflectly.dto.EntryResponseDto;
 import org.mentorship.reflectly.model.EntryEntity;
-import org.springframework.data.domain.Page;
+import org.mentorship.reflectly.repository.EntryRow;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Component
@@ -17,17 +23,31 @@ public class EntryConverter {
             return null;
         }
         return EntryResponseDto.builder()
-                .id(entity.getId())
-                .userId(entity.getUserId())
+                .id(entity.getId().toString())
+                .userId(String.valueOf(entity.getUserId()))
                 .title(entity.getTitle())
                 .reflection(entity.getReflection())
                 .emotions(entity.getEmotions())
                 .createdAt(entity.getCreatedDate())
                 .updatedAt(entity.getLastModifiedDate())
+                .version(entity.getVersion())
                 .build();
     }
 
-    public EntryEntity toEntity(EntryRequestDto requestDto, String id, String userId) {
+    public EntryResponseDto toResponseDto(EntryRow row) {
+        return EntryResponseDto.builder()
+                .id(row.id().toString())
+                .userId(String.valueOf(row.userId()))
+                .title(row.title())
+                .reflection(row.reflection())
+                .emotions(row.emotions() != null ? Arrays.asList(row.emotions()) : List.of())
+                .createdAt(row.createdDate())
+                .updatedAt(row.lastModifiedDate())
+                .version(row.version())
+                .build();
+    }
+
+    public EntryEntity toEntity(EntryRequestDto requestDto, UUID id, Long userId) {
         if (requestDto == null) {
             return null;
         }
@@ -36,7 +56,7 @@ public class EntryConverter {
                 userId,
                 requestDto.getTitle(),
                 requestDto.getReflection(),
-                requestDto.getEmotions()
+                distinct(requestDto.getEmotions())
         );
     }
 
@@ -49,20 +69,47 @@ public class EntryConverter {
                 .collect(Collectors.toList());
     }
 
-    public Page<EntryResponseDto> toResponseDtoPage(Page<EntryEntity> entityPage) {
-        if (entityPage == null) {
-            return null;
-        }
-        return entityPage.map(this::toResponseDto);
-    }
-
     public void updateEntityFromDto(EntryRequestDto requestDto, EntryEntity entity) {
         if (requestDto == null || entity == null) {
             return;
         }
         entity.setTitle(requestDto.getTitle());
         entity.setReflection(requestDto.getReflection());
-        entity.setEmotions(requestDto.getEmotions());
+        setEmotions(entity, distinct(requestDto.getEmotions()));
     }
-}
 
+    /**
+     * Apply the fields present in a patch. Unchanged values are left alone so that only
+     * columns that really change are written.
+     */
+    public void applyPatch(EntryPatchDto patchDto, EntryEntity entity) {
+        if (patchDto.getTitle() != null) {
+            entity.setTitle(patchDto.getTitle());
+        }
+        if (patchDto.getReflection() != null) {
+            entity.setReflection(patchDto.getReflection());
+        }
+        if (patchDto.getEmotions() != null) {
+            setEmotions(entity, distinct(patchDto.getEmotions()));
+        }
+    }
+
+    /**
+     * Replacing the collection rewrites every entry_emotions row and bumps the entry's
+     * version, so only do it when the set of emotions really changes. Order carries no
+     * meaning: entry_emotions has no order column.
+     */
+    private static void setEmotions(EntryEntity entity, List<String> emotions) {
+        if (emotions == null || entity.getEmotions() == null
+                || !new HashSet<>(emotions).equals(new HashSet<>(entity.getEmotions()))) {
+            entity.setEmotions(emotions);
+        }
+    }
+
+    /**
+     * entry_emotions is keyed by (entry_id, emotion), so drop repeats before they reach it.
+     */
+    private static List<String> distinct(List<String> emotions) {
+        return emotions != null ? new ArrayList<>(new LinkedHashSet<>(emotions)) : null;
+    }
+}
@@ -12,5 +12,8 @@ import lombok.NoArgsConstructor;
 public class AuthLoginResponseDto {
 
     private String token;
+    private String refreshToken;
+    /** Lifetime of {@code token} in seconds */
+    private long expiresIn;
     private UserProfileRecord user;
 }
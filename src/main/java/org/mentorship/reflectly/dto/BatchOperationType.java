@@ -0,0 +1,13 @@
+package org.mentorship.reflectly.dto;
+
+/**
+ * Kinds of operation accepted by the entry batch endpoint.
+ */
+public enum BatchOperationType {
+    /** Create an entry, with a client-generated ID or a server-generated one */
+    CREATE,
+    /** Replace an entry's title, reflection and emotions */
+    UPDATE,
+    /** Delete an entry */
+    DELETE
+}
@@ -0,0 +1,61 @@
+package org.mentorship.reflectly.dto;
+
+import org.mentorship.reflectly.exception.ValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position in a user's change feed, ordered by (change time, entry ID), where the change
+ * time is an entry's lastModifiedDate or a tombstone's deletedDate, and IDs compare in
+ * PostgreSQL uuid order (that of their canonical strings).
+ * {@code syncedAt} is when the client last caught up with the feed; tombstones are only
+ * kept for the retention period, so tokens with an older {@code syncedAt} cannot be served.
+ * Serialized as an opaque URL-safe string so clients cannot depend on its contents.
+ */
+public record ChangeToken(Instant changedAt, UUID id, Instant syncedAt) {
+
+    /**
+     * Sorts before every other ID, for positions that have no entry of their own.
+     */
+    public static final UUID NO_ID = new UUID(0, 0);
+
+    private static final char SEPARATOR = '|';
+
+    /**
+     * Token for a client that has nothing yet.
+     */
+    public static ChangeToken initial(Instant now) {
+        return new ChangeToken(Instant.EPOCH, NO_ID, now);
+    }
+
+    public String encode() {
+        String raw = changedAt.toString() + SEPARATOR + syncedAt + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws ValidationException if the token was not produced by {@link #encode()}
+     */
+    public static ChangeToken decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int first = raw.indexOf(SEPARATOR);
+            int second = first < 0 ? -1 : raw.indexOf(SEPARATOR, first + 1);
+            if (second < 0) {
+                throw new ValidationException("Invalid change token");
+            }
+            // Tokens issued while IDs were text left the ID empty for positions without one
+            String id = raw.substring(second + 1);
+            return new ChangeToken(
+                    Instant.parse(raw.substring(0, first)),
+                    id.isEmpty() ? NO_ID : UUID.fromString(id),
+                    Instant.parse(raw.substring(first + 1, second)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new ValidationException("Invalid change token");
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package org.mentorship.reflectly.dto;
+
+import java.util.List;
+
+/**
+ * One keyset page of results.
+ *
+ * @param content    the page content
+ * @param nextCursor cursor for the following page, or null on the last page
+ * @param total      total number of results, or null if it was not requested
+ */
+public record CursorPageDto<T>(List<T> content, String nextCursor, Long total) {
+}
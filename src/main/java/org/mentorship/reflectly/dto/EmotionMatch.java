@@ -0,0 +1,11 @@
+package org.mentorship.reflectly.dto;
+
+/**
+ * How a multi-emotion filter combines its emotions.
+ */
+public enum EmotionMatch {
+    /** Entries tagged with at least one of the emotions */
+    ANY,
+    /** Entries tagged with every one of the emotions */
+    ALL
+}
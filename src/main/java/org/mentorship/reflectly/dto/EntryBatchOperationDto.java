@@ -0,0 +1,29 @@
+package org.mentorship.reflectly.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One operation of an entry batch. {@code id} is required for UPDATE and DELETE and
+ * optional for CREATE, where a client-generated UUID lets later operations in the same
+ * batch refer to the new entry and makes replaying a create detectable.
+ * {@code entry} is required for CREATE and UPDATE. {@code version} is optional for UPDATE
+ * and DELETE: the version of the entry the change was based on, like If-Match on the
+ * single-entry calls, so a replayed change cannot overwrite one made since.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EntryBatchOperationDto {
+
+    @NotNull(message = "Operation type is required")
+    private BatchOperationType type;
+
+    private String id;
+
+    private EntryRequestDto entry;
+
+    private Long version;
+}
@@ -0,0 +1,24 @@
+package org.mentorship.reflectly.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * An ordered list of entry operations applied in one transaction.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EntryBatchRequestDto {
+
+    @NotEmpty(message = "At least one operation is required")
+    @Size(max = 100, message = "A batch must not exceed 100 operations")
+    private List<@Valid @NotNull(message = "Operation must not be null") EntryBatchOperationDto> operations;
+}
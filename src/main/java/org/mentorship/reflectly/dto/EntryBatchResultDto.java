@@ -0,0 +1,27 @@
+package org.mentorship.reflectly.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of one batch operation, in the same position as the operation in the request.
+ * {@code status} is the HTTP status the equivalent single-entry call would have returned.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class EntryBatchResultDto {
+
+    private BatchOperationType type;
+    private String id;
+    private int status;
+    /** The entry as saved, for successful creates and updates */
+    private EntryResponseDto entry;
+    /** Why the operation was rejected */
+    private String message;
+}
@@ -0,0 +1,28 @@
+package org.mentorship.reflectly.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of a user's change feed. Clients apply {@code changed} as upserts and
+ * {@code deleted} as removals, store {@code nextToken}, and request again with it;
+ * while {@code hasMore} is true the next page can be requested right away.
+ * Changes close to the end of the feed may be delivered twice, so applying them must
+ * be idempotent.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EntryChangesDto {
+
+    private List<EntryResponseDto> changed;
+    /** IDs of deleted entries */
+    private List<String> deleted;
+    private String nextToken;
+    private boolean hasMore;
+}
@@ -0,0 +1,22 @@
+package org.mentorship.reflectly.dto;
+
+import jakarta.validation.constraints.PastOrPresent;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * One entry in a bulk import. Same rules as a regular entry, plus an optional original
+ * creation time so imported history keeps its dates. Unknown properties are ignored,
+ * so files produced by the export endpoint can be imported as-is.
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+@NoArgsConstructor
+public class EntryImportDto extends EntryRequestDto {
+
+    @PastOrPresent(message = "createdAt must not be in the future")
+    private Instant createdAt;
+}
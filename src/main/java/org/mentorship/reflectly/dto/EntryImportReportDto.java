@@ -0,0 +1,37 @@
+package org.mentorship.reflectly.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Progress of a bulk import. One is streamed after every written chunk; the last one
+ * has {@code complete} set and lists the records that were rejected.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class EntryImportReportDto {
+
+    /** Records read so far */
+    private int processed;
+    private int imported;
+    private int failed;
+    /** Set on the final report only: true if the whole input was read */
+    private Boolean complete;
+    /** Set on the final report only; capped, so may list fewer records than failed */
+    private List<RecordError> errors;
+
+    /**
+     * @param index   zero-based position of the record in the input
+     * @param message why it was rejected
+     */
+    public record RecordError(int index, String message) {
+    }
+}
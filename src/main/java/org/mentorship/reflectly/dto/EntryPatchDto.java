@@ -0,0 +1,30 @@
+package org.mentorship.reflectly.dto;
+
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Partial entry update. Fields that are missing or null keep their current value;
+ * fields that are present follow the same rules as in EntryRequestDto.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EntryPatchDto {
+
+    @Pattern(regexp = "(?s).*\\S.*", message = "Title must not be blank")
+    @Size(max = 100, message = "Title must not exceed 100 characters")
+    private String title;
+
+    @Pattern(regexp = "(?s).*\\S.*", message = "Reflection must not be blank")
+    @Size(max = 1000, message = "Reflection must not exceed 1000 characters")
+    private String reflection;
+
+    @Size(min = 1, message = "At least one emotion is required")
+    private List<String> emotions;
+}
@@ -21,4 +21,6 @@ public class EntryResponseDto {
     private List<String> emotions;
     private Instant createdAt;
     private Instant updatedAt;
+    /** Incremented on every update */
+    private Long version;
 }
@@ -0,0 +1,15 @@
+package org.mentorship.reflectly.dto;
+
+import java.util.UUID;
+
+/**
+ * One ranked search match, before the entry itself is loaded.
+ *
+ * @param entryId             the matching entry
+ * @param rank                relevance; higher is better, only comparable within one search
+ * @param titleHighlight      the HTML-escaped title with matched terms wrapped in &lt;mark&gt; tags
+ * @param reflectionHighlight an HTML-escaped excerpt of the reflection around the matched
+ *                            terms, highlighted the same way
+ */
+public record EntrySearchHit(UUID entryId, double rank, String titleHighlight, String reflectionHighlight) {
+}
@@ -0,0 +1,23 @@
+package org.mentorship.reflectly.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A search result: the matching entry plus its highlighted title and excerpt.
+ * Highlights are HTML-escaped entry text with matched terms wrapped in &lt;mark&gt;
+ * tags, so they can be rendered as HTML directly.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EntrySearchResultDto {
+
+    private EntryResponseDto entry;
+    private double rank;
+    private String titleHighlight;
+    private String reflectionHighlight;
+}
@@ -0,0 +1,29 @@
+package org.mentorship.reflectly.dto;
+
+import org.springframework.http.MediaType;
+
+/**
+ * File formats supported by the entry export.
+ */
+public enum ExportFormat {
+    /** One JSON entry per line, in the same shape as the entries API */
+    NDJSON("application/x-ndjson", "ndjson"),
+    /** RFC 4180 CSV with a header row; emotions are joined with ';' */
+    CSV("text/csv", "csv");
+
+    private final MediaType mediaType;
+    private final String extension;
+
+    ExportFormat(String mediaType, String extension) {
+        this.mediaType = MediaType.parseMediaType(mediaType);
+        this.extension = extension;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+}
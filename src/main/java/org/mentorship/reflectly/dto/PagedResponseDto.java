@@ -8,6 +8,7 @@ import java.util.List;
 @AllArgsConstructor
 public class PagedResponseDto<T> {
     private List<T> content;
-    private long total;
+    /** Total number of results; null when the client did not ask for it */
+    private Long total;
     private String nextLink;
 }
\ No newline at end of file
@@ -0,0 +1,27 @@
+package org.mentorship.reflectly.model;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Vocabulary of emotion names entries may use, maintained by migrations. The small integer
+ * ID doubles as the emotion's bit position in {@link EntryEntity#getEmotionMask()} for IDs
+ * below {@link #MASK_BITS}; rows are only ever added, so an ID never changes meaning.
+ */
+@Entity
+@Table(name = "emotions")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class EmotionEntity {
+
+    /** Number of emotion IDs that fit in the non-negative range of a BIGINT mask */
+    public static final int MASK_BITS = 63;
+
+    @Id
+    private Short id;
+
+    @Column(name = "name", nullable = false, unique = true, length = 50)
+    private String name;
+}
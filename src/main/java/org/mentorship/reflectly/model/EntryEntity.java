@@ -5,10 +5,14 @@ import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.DynamicUpdate;
+import org.springframework.data.domain.Persistable;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.UUID;
 
 /**
  * Represents an Entry entity for the new entries system.
@@ -17,19 +21,27 @@ import java.util.Objects;
  */
 @Entity
 @Table(name = "entries", indexes = {
-        @Index(name = "idx_user_entries", columnList = "userId"),
+        @Index(name = "idx_entries_user_created_id", columnList = "userId, createdDate DESC, id DESC"),
+        @Index(name = "idx_entries_user_modified_id", columnList = "userId, lastModifiedDate, id"),
         @Index(name = "idx_entries_created_date", columnList = "createdDate")
 })
+@DynamicUpdate
 @Getter
 @Setter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
-public class EntryEntity extends AuditableEntity {
+public class EntryEntity extends AuditableEntity implements Persistable<UUID> {
 
+    /**
+     * Assigned by the application (see {@code UuidV7}) and stored as a native uuid.
+     */
     @Id
-    private String id;
+    private UUID id;
 
-    @Column(name = "user_id", nullable = false, length = 36)
-    private String userId;
+    /**
+     * Owning user's ID; the database deletes the user's entries along with the user.
+     */
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
 
     @Column(name = "title", nullable = false, length = 100)
     private String title;
@@ -37,17 +49,46 @@ public class EntryEntity extends AuditableEntity {
     @Column(name = "reflection", nullable = false, columnDefinition = "TEXT")
     private String reflection;
 
+    // Loaded for a whole page in one IN query rather than once per entry;
+    // sized to match EntryService.MAX_PAGE_SIZE
     @ElementCollection
+    @BatchSize(size = 100)
     @CollectionTable(name = "entry_emotions", joinColumns = @JoinColumn(name = "entry_id"))
     @Column(name = "emotion", length = 50)
     private List<String> emotions = new ArrayList<>();
 
+    /**
+     * One bit per emotion, at the position given by its EmotionEntity ID. Kept in sync with
+     * {@link #emotions} on every write so emotion filters need no join.
+     */
+    @Column(name = "emotion_mask", nullable = false, columnDefinition = "bigint default 0")
+    private long emotionMask;
+
+    /**
+     * Optimistic lock, incremented on every update including emotion changes. Null until
+     * the entry is first persisted; see {@link #isNew()}.
+     */
+    @Version
+    @Column(name = "version", nullable = false, columnDefinition = "bigint default 0")
+    @Setter(AccessLevel.NONE)
+    private Long version;
+
     // Constructor for creating new entries
-    public EntryEntity(String id, String userId, String title, String reflection, List<String> emotions) {
+    public EntryEntity(UUID id, Long userId, String title, String reflection, List<String> emotions) {
         this.id = Objects.requireNonNull(id, "ID cannot be null");
         this.userId = Objects.requireNonNull(userId, "User ID cannot be null");
         this.title = Objects.requireNonNull(title, "Title cannot be null");
         this.reflection = Objects.requireNonNull(reflection, "Reflection cannot be null");
         this.emotions = emotions != null ? new ArrayList<>(emotions) : new ArrayList<>();
     }
+
+    /**
+     * The ID is assigned before the first save, so Spring Data cannot tell new entries by
+     * a null ID and would merge them, with a SELECT before every INSERT. An unset version
+     * means the entry has never been written, so save() persists it directly.
+     */
+    @Override
+    public boolean isNew() {
+        return version == null;
+    }
 }
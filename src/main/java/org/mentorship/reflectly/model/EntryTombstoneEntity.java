@@ -0,0 +1,54 @@
+package org.mentorship.reflectly.model;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Marker left behind when an entry is deleted, so delta sync can tell clients about the
+ * deletion. Rows are purged after the sync retention period. An entry ID never has both
+ * a tombstone and a live entry: re-creating an entry under its old ID removes the tombstone.
+ */
+@Entity
+@Table(name = "entry_tombstones", indexes = {
+        @Index(name = "idx_entry_tombstones_user_deleted", columnList = "user_id, deleted_date, entry_id"),
+        @Index(name = "idx_entry_tombstones_deleted_date", columnList = "deleted_date")
+})
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class EntryTombstoneEntity implements Persistable<UUID> {
+
+    @Id
+    @Column(name = "entry_id")
+    private UUID entryId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "deleted_date", nullable = false)
+    private Instant deletedDate;
+
+    public EntryTombstoneEntity(UUID entryId, Long userId, Instant deletedDate) {
+        this.entryId = entryId;
+        this.userId = userId;
+        this.deletedDate = deletedDate;
+    }
+
+    @Override
+    public UUID getId() {
+        return entryId;
+    }
+
+    /**
+     * Tombstones are only ever inserted, so save() can persist without looking the ID up first.
+     */
+    @Override
+    public boolean isNew() {
+        return true;
+    }
+}
@@ -0,0 +1,45 @@
+package org.mentorship.reflectly.model;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * A revoked backend JWT, or a user-wide marker revoking every token issued to a user
+ * before {@code revokedAt}. Rows are kept only until {@code expiresAt}, after which the
+ * tokens they cover have expired on their own.
+ */
+@Entity
+@Table(name = "revoked_tokens", indexes = {
+        @Index(name = "idx_revoked_tokens_expires_at", columnList = "expires_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class RevokedTokenEntity {
+
+    /** The token's "jti" claim, or "user:{id}" for a user-wide marker */
+    @Id
+    @Column(name = "token_id", length = 64)
+    private String tokenId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "revoked_at", nullable = false)
+    private Instant revokedAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    public RevokedTokenEntity(String tokenId, Long userId, Instant revokedAt, Instant expiresAt) {
+        this.tokenId = tokenId;
+        this.userId = userId;
+        this.revokedAt = revokedAt;
+        this.expiresAt = expiresAt;
+    }
+}
@@ -0,0 +1,9 @@
+package org.mentorship.reflectly.repository;
+
+import org.mentorship.reflectly.model.EmotionEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface EmotionRepository extends JpaRepository<EmotionEntity, Short> {
+}
@@ -1,111 +1,201 @@
 package org.mentorship.reflectly.repository;
 
+import jakarta.persistence.LockModeType;
 import org.mentorship.reflectly.model.EntryEntity;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.time.LocalDateTime;
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
 @Repository
-public interface EntryRepository extends JpaRepository<EntryEntity, String> {
+public interface EntryRepository extends JpaRepository<EntryEntity, UUID>, JpaSpecificationExecutor<EntryEntity>,
+        EntryRowRepository {
 
     /**
-     * Find all entries by user ID.
+     * Find the first keyset page of a user's entries, newest first.
      * @param userId The user ID to search for.
-     * @return List of entries for the user.
+     * @param limit Maximum number of entries to return.
+     * @return Entries ordered by created date and ID, descending.
      */
-    List<EntryEntity> findByUserIdOrderByCreatedDateDesc(String userId);
+    @Query("SELECT new org.mentorship.reflectly.repository.EntryRow(e.id, e.userId, e.title, e.reflection, e.createdDate, e.lastModifiedDate, e.version, (SELECT array_agg(em) WITHIN GROUP (ORDER BY em) FROM e.emotions em)) FROM EntryEntity e WHERE e.userId = :userId ORDER BY e.createdDate DESC, e.id DESC")
+    List<EntryRow> findFirstPageByUserId(@Param("userId") Long userId, Limit limit);
 
     /**
-     * Find all entries by user ID with pagination.
+     * Find the keyset page of a user's entries that follows the given position.
+     * Seeks directly to the position instead of skipping rows, so deep pages cost the same as the first.
      * @param userId The user ID to search for.
-     * @param pageable Pagination information.
-     * @return Page of entries for the user.
+     * @param createdDate Created date of the last entry on the previous page.
+     * @param id ID of the last entry on the previous page.
+     * @param limit Maximum number of entries to return.
+     * @return Entries ordered by created date and ID, descending.
      */
-    Page<EntryEntity> findByUserIdOrderByCreatedDateDesc(String userId, Pageable pageable);
+    @Query("SELECT new org.mentorship.reflectly.repository.EntryRow(e.id, e.userId, e.title, e.reflection, e.createdDate, e.lastModifiedDate, e.version, (SELECT array_agg(em) WITHIN GROUP (ORDER BY em) FROM e.emotions em)) FROM EntryEntity e WHERE e.userId = :userId AND (e.createdDate, e.id) < (:createdDate, :id) ORDER BY e.createdDate DESC, e.id DESC")
+    List<EntryRow> findPageByUserIdAfter(
+            @Param("userId") Long userId,
+            @Param("createdDate") Instant createdDate,
+            @Param("id") UUID id,
+            Limit limit
+    );
 
     /**
-     * Find an entry by ID and user ID (for security - users can only access their own entries).
+     * Find the version of one of a user's entries without loading it.
      * @param id The entry ID.
      * @param userId The user ID.
-     * @return Optional containing the entry if found and belongs to the user.
+     * @return The entry's creation date and version, if the entry exists.
+     */
+    @Query("SELECT e.createdDate AS createdDate, e.version AS version FROM EntryEntity e WHERE e.id = :id AND e.userId = :userId")
+    Optional<VersionRow> findVersionByIdAndUserId(@Param("id") UUID id, @Param("userId") Long userId);
+
+    /**
+     * Delete one of a user's entries and leave a tombstone for delta sync, in one statement.
+     * The entry's emotions go with it through the foreign key's ON DELETE CASCADE.
+     * @param id The entry ID.
+     * @param userId The user ID; entries of other users are left alone.
+     * @param deletedDate Deletion time recorded on the tombstone.
+     * @return Number of entries deleted, 0 if the user has no such entry.
      */
-    Optional<EntryEntity> findByIdAndUserId(String id, String userId);
+    @Modifying
+    @Query(value = """
+            WITH deleted AS (
+                DELETE FROM entries WHERE id = :id AND user_id = :userId RETURNING id, user_id
+            )
+            INSERT INTO entry_tombstones (entry_id, user_id, deleted_date)
+            SELECT id, user_id, :deletedDate FROM deleted
+            """, nativeQuery = true)
+    int deleteByIdAndUserId(@Param("id") UUID id, @Param("userId") Long userId,
+                            @Param("deletedDate") Instant deletedDate);
 
     /**
-     * Find entries by user ID within a date range.
+     * Read the user's entries change counter. Database triggers bump it in the same
+     * transaction as every entry write and tombstone insert, so it changes exactly when
+     * a change becomes visible, whatever order concurrent writers commit in.
      * @param userId The user ID.
-     * @param startDate The start date (inclusive).
-     * @param endDate The end date (inclusive).
-     * @return List of entries within the date range.
+     * @return A number that changes whenever one of the user's entries is created, updated or deleted.
      */
-    @Query("SELECT e FROM EntryEntity e WHERE e.userId = :userId AND e.createdDate >= :startDate AND e.createdDate <= :endDate ORDER BY e.createdDate DESC")
-    List<EntryEntity> findByUserIdAndCreatedAtBetween(
-            @Param("userId") String userId,
-            @Param("startDate") LocalDateTime startDate,
-            @Param("endDate") LocalDateTime endDate
+    @Query(value = "SELECT entries_version FROM users WHERE id = :userId", nativeQuery = true)
+    Long findEntriesVersion(@Param("userId") Long userId);
+
+    /**
+     * Find a user's entries created or updated after the given position, oldest change first.
+     * @param userId The user ID to search for.
+     * @param lastModifiedDate Change time of the last change the client has seen.
+     * @param id Entry ID of the last change the client has seen.
+     * @param limit Maximum number of entries to return.
+     * @return Entries ordered by last modified date and ID, ascending.
+     */
+    @Query("SELECT e FROM EntryEntity e WHERE e.userId = :userId AND (e.lastModifiedDate, e.id) > (:lastModifiedDate, :id) ORDER BY e.lastModifiedDate, e.id")
+    List<EntryEntity> findChangesAfter(
+            @Param("userId") Long userId,
+            @Param("lastModifiedDate") Instant lastModifiedDate,
+            @Param("id") UUID id,
+            Limit limit
     );
 
     /**
-     * Find entries by user ID within a date range with pagination.
+     * Full-text search over a user's entries using the generated search_vector column.
+     * The query uses web search syntax (quoted phrases, "or", "-" for exclusion).
+     * Highlights are computed from HTML-escaped text; PostgreSQL only evaluates
+     * ts_headline for the rows that survive the sort and limit.
      * @param userId The user ID.
-     * @param startDate The start date (inclusive).
-     * @param endDate The end date (inclusive).
-     * @param pageable Pagination information.
-     * @return Page of entries within the date range.
+     * @param query The search query.
+     * @param pageable Pagination information; any sort is ignored in favour of rank.
+     * @return Page of matches, best first.
      */
-    @Query("SELECT e FROM EntryEntity e WHERE e.userId = :userId AND e.createdDate >= :startDate AND e.createdDate <= :endDate ORDER BY e.createdDate DESC")
-    Page<EntryEntity> findByUserIdAndCreatedAtBetween(
-            @Param("userId") String userId,
-            @Param("startDate") LocalDateTime startDate,
-            @Param("endDate") LocalDateTime endDate,
-            Pageable pageable
-    );
+    @Query(value = """
+            SELECT e.id AS entryId,
+                   ts_rank(e.search_vector, q) AS rank,
+                   ts_headline('english',
+                           replace(replace(replace(e.title, '&', '&amp;'), '<', '&lt;'), '>', '&gt;'),
+                           q, 'StartSel=<mark>, StopSel=</mark>, HighlightAll=true') AS titleHighlight,
+                   ts_headline('english',
+                           replace(replace(replace(e.reflection, '&', '&amp;'), '<', '&lt;'), '>', '&gt;'),
+                           q, 'StartSel=<mark>, StopSel=</mark>, MaxFragments=2, MinWords=10, MaxWords=25, FragmentDelimiter=" ... "') AS reflectionHighlight
+            FROM entries e CROSS JOIN websearch_to_tsquery('english', :query) q
+            WHERE e.user_id = :userId AND e.search_vector @@ q
+            ORDER BY rank DESC, e.created_date DESC, e.id DESC
+            """,
+            countQuery = """
+            SELECT count(*) FROM entries e
+            WHERE e.user_id = :userId AND e.search_vector @@ websearch_to_tsquery('english', :query)
+            """,
+            nativeQuery = true)
+    Page<SearchRow> search(@Param("userId") Long userId, @Param("query") String query, Pageable pageable);
 
     /**
-     * Find entries by user ID and specific emotion.
+     * Find an entry by ID and user ID (for security - users can only access their own entries).
+     * @param id The entry ID.
      * @param userId The user ID.
-     * @param emotion The emotion to search for.
-     * @return List of entries containing the specified emotion.
+     * @return Optional containing the entry if found and belongs to the user.
      */
-    @Query("SELECT e FROM EntryEntity e JOIN e.emotions em WHERE e.userId = :userId AND em = :emotion ORDER BY e.createdDate DESC")
-    List<EntryEntity> findByUserIdAndEmotionsContaining(
-            @Param("userId") String userId,
-            @Param("emotion") String emotion
-    );
+    Optional<EntryEntity> findByIdAndUserId(UUID id, Long userId);
 
     /**
-     * Find entries by user ID and specific emotion with pagination.
+     * Find several of a user's entries and lock them until the transaction ends, so their
+     * versions cannot change before the caller writes them. Rows are locked in ID order,
+     * which keeps two concurrent callers from deadlocking on each other.
+     * @param ids The entry IDs.
+     * @param userId The user ID; entries of other users are neither returned nor locked.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM EntryEntity e WHERE e.id IN :ids AND e.userId = :userId ORDER BY e.id")
+    List<EntryEntity> findAllForUpdate(@Param("ids") Collection<UUID> ids, @Param("userId") Long userId);
+
+    /**
+     * Find which of the given IDs another user already holds, as an entry or a tombstone.
+     * IDs are unique across users, so those cannot be used for this user's entries.
+     * @param ids The candidate entry IDs.
      * @param userId The user ID.
-     * @param emotion The emotion to search for.
-     * @param pageable Pagination information.
-     * @return Page of entries containing the specified emotion.
      */
-    @Query("SELECT e FROM EntryEntity e JOIN e.emotions em WHERE e.userId = :userId AND em = :emotion ORDER BY e.createdDate DESC")
-    Page<EntryEntity> findByUserIdAndEmotionsContaining(
-            @Param("userId") String userId,
-            @Param("emotion") String emotion,
-            Pageable pageable
-    );
+    @Query(value = """
+            SELECT id FROM entries WHERE id IN (:ids) AND user_id <> :userId
+            UNION
+            SELECT entry_id FROM entry_tombstones WHERE entry_id IN (:ids) AND user_id <> :userId
+            """, nativeQuery = true)
+    List<UUID> findIdsHeldByOthers(@Param("ids") Collection<UUID> ids, @Param("userId") Long userId);
 
     /**
-     * Check if an entry exists and belongs to a specific user.
+     * Find one of a user's entries for reading, without loading it into the persistence context.
      * @param id The entry ID.
      * @param userId The user ID.
-     * @return True if the entry exists and belongs to the user.
+     * @return The entry's columns if found and belongs to the user.
      */
-    boolean existsByIdAndUserId(String id, String userId);
+    @Query("SELECT new org.mentorship.reflectly.repository.EntryRow(e.id, e.userId, e.title, e.reflection, e.createdDate, e.lastModifiedDate, e.version, (SELECT array_agg(em) WITHIN GROUP (ORDER BY em) FROM e.emotions em)) FROM EntryEntity e WHERE e.id = :id AND e.userId = :userId")
+    Optional<EntryRow> findRowByIdAndUserId(@Param("id") UUID id, @Param("userId") Long userId);
 
     /**
      * Count entries by user ID.
      * @param userId The user ID.
      * @return Number of entries for the user.
      */
-    long countByUserId(String userId);
+    long countByUserId(Long userId);
+
+    /**
+     * Row returned by {@link #search}.
+     */
+    interface SearchRow {
+        UUID getEntryId();
+        double getRank();
+        String getTitleHighlight();
+        String getReflectionHighlight();
+    }
+
+    /**
+     * Row returned by {@link #findVersionByIdAndUserId}.
+     */
+    interface VersionRow {
+        Instant getCreatedDate();
+        Long getVersion();
+    }
 }
@@ -0,0 +1,14 @@
+package org.mentorship.reflectly.repository;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * An entry's columns and emotions, selected straight into this record by read-only queries.
+ * Unlike {@link org.mentorship.reflectly.model.EntryEntity} it is not tracked by the
+ * persistence context and has no lazy collections: emotions are aggregated into an array
+ * by a correlated subquery in the same statement, in name order, null when the entry has none.
+ */
+public record EntryRow(UUID id, Long userId, String title, String reflection,
+                       Instant createdDate, Instant lastModifiedDate, Long version, String[] emotions) {
+}
@@ -0,0 +1,21 @@
+package org.mentorship.reflectly.repository;
+
+import org.mentorship.reflectly.model.EntryEntity;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Specification queries that return {@link EntryRow}s instead of entities. Mixed into
+ * {@link EntryRepository}; JpaSpecificationExecutor can only return entities.
+ */
+public interface EntryRowRepository {
+
+    /**
+     * Find a page of entry rows matching the specification.
+     * @param specification Filter to apply.
+     * @param pageable Page, size and sort.
+     * @return Page of rows; the count query only runs when the page alone cannot tell the total.
+     */
+    Page<EntryRow> findRows(Specification<EntryEntity> specification, Pageable pageable);
+}
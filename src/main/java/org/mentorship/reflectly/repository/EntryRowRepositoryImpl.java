@@ -0,0 +1,68 @@
+package org.mentorship.reflectly.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.mentorship.reflectly.model.EntryEntity;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.List;
+
+@RequiredArgsConstructor
+class EntryRowRepositoryImpl implements EntryRowRepository {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public Page<EntryRow> findRows(Specification<EntryEntity> specification, Pageable pageable) {
+        HibernateCriteriaBuilder cb = (HibernateCriteriaBuilder) entityManager.getCriteriaBuilder();
+        CriteriaQuery<EntryRow> query = cb.createQuery(EntryRow.class);
+        Root<EntryEntity> root = query.from(EntryEntity.class);
+        // Emotions aggregated per row by a correlated subquery, as in EntryRepository's row queries
+        Subquery<String[]> emotions = query.subquery(String[].class);
+        Join<EntryEntity, String> emotion = emotions.correlate(root).join("emotions");
+        emotions.select(cb.arrayAgg(cb.asc(emotion), emotion));
+        query.select(cb.construct(EntryRow.class,
+                root.get("id"),
+                root.get("userId"),
+                root.get("title"),
+                root.get("reflection"),
+                root.get("createdDate"),
+                root.get("lastModifiedDate"),
+                root.get("version"),
+                emotions));
+        Predicate predicate = specification.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+
+        List<EntryRow> rows = entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+        return PageableExecutionUtils.getPage(rows, pageable, () -> count(specification));
+    }
+
+    private long count(Specification<EntryEntity> specification) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<EntryEntity> root = query.from(EntryEntity.class);
+        query.select(cb.count(root));
+        Predicate predicate = specification.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        return entityManager.createQuery(query).getSingleResult();
+    }
+}
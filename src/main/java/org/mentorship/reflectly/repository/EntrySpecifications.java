@@ -0,0 +1,77 @@
+package org.mentorship.reflectly.repository;
+
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.mentorship.reflectly.model.EntryEntity;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.Instant;
+import java.util.Collection;
+
+/**
+ * Building blocks for dynamic entry queries. Every filter is a plain predicate on the
+ * entries row, so the combined query keeps using the (user_id, created_date, id) index;
+ * only the emotion fallbacks for emotions without a mask bit touch entry_emotions.
+ */
+public final class EntrySpecifications {
+
+    private EntrySpecifications() {
+    }
+
+    public static Specification<EntryEntity> belongsTo(Long userId) {
+        return (root, query, cb) -> cb.equal(root.get("userId"), userId);
+    }
+
+    /** Entries created at or after the given instant */
+    public static Specification<EntryEntity> createdFrom(Instant from) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("createdDate"), from);
+    }
+
+    /** Entries created strictly before the given instant */
+    public static Specification<EntryEntity> createdBefore(Instant before) {
+        return (root, query, cb) -> cb.lessThan(root.get("createdDate"), before);
+    }
+
+    /** Entries created at or before the given instant */
+    public static Specification<EntryEntity> createdAtOrBefore(Instant until) {
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("createdDate"), until);
+    }
+
+    /** Entries whose emotion mask shares at least one bit with the given mask */
+    public static Specification<EntryEntity> hasAnyEmotionBit(long mask) {
+        return (root, query, cb) -> cb.notEqual(
+                cb.function("bitand", Long.class, root.get("emotionMask"), cb.literal(mask)), 0L);
+    }
+
+    /** Entries whose emotion mask contains every bit of the given mask */
+    public static Specification<EntryEntity> hasAllEmotionBits(long mask) {
+        return (root, query, cb) -> cb.equal(
+                cb.function("bitand", Long.class, root.get("emotionMask"), cb.literal(mask)), mask);
+    }
+
+    /** Entries tagged with at least one of the emotions, checked against entry_emotions */
+    public static Specification<EntryEntity> hasAnyEmotion(Collection<String> emotions) {
+        return (root, query, cb) -> {
+            Subquery<Integer> tagged = query.subquery(Integer.class);
+            Root<EntryEntity> entry = tagged.from(EntryEntity.class);
+            Join<EntryEntity, String> emotion = entry.join("emotions");
+            tagged.select(cb.literal(1)).where(cb.equal(entry, root), emotion.in(emotions));
+            return cb.exists(tagged);
+        };
+    }
+
+    /**
+     * Entries tagged with every one of the emotions, checked against entry_emotions.
+     * The emotions must not contain duplicates.
+     */
+    public static Specification<EntryEntity> hasAllEmotions(Collection<String> emotions) {
+        return (root, query, cb) -> {
+            Subquery<Long> matched = query.subquery(Long.class);
+            Root<EntryEntity> entry = matched.from(EntryEntity.class);
+            Join<EntryEntity, String> emotion = entry.join("emotions");
+            matched.select(cb.countDistinct(emotion)).where(cb.equal(entry, root), emotion.in(emotions));
+            return cb.equal(matched, (long) emotions.size());
+        };
+    }
+}
@@ -0,0 +1,42 @@
+package org.mentorship.reflectly.repository;
+
+import org.mentorship.reflectly.model.EntryTombstoneEntity;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface EntryTombstoneRepository extends JpaRepository<EntryTombstoneEntity, UUID> {
+
+    /**
+     * Find a user's tombstones after the given position, oldest first.
+     * @param userId The user ID to search for.
+     * @param deletedDate Deletion date of the last change the client has seen.
+     * @param entryId Entry ID of the last change the client has seen.
+     * @param limit Maximum number of tombstones to return.
+     * @return Tombstones ordered by deletion date and entry ID, ascending.
+     */
+    @Query("SELECT t FROM EntryTombstoneEntity t WHERE t.userId = :userId AND (t.deletedDate, t.entryId) > (:deletedDate, :entryId) ORDER BY t.deletedDate, t.entryId")
+    List<EntryTombstoneEntity> findChangesAfter(
+            @Param("userId") Long userId,
+            @Param("deletedDate") Instant deletedDate,
+            @Param("entryId") UUID entryId,
+            Limit limit
+    );
+
+    /**
+     * Delete tombstones older than the sync retention period.
+     * @param cutoff Tombstones deleted before this instant are removed.
+     * @return Number of rows deleted.
+     */
+    @Modifying
+    @Query("DELETE FROM EntryTombstoneEntity t WHERE t.deletedDate < :cutoff")
+    int deleteOlderThan(@Param("cutoff") Instant cutoff);
+}
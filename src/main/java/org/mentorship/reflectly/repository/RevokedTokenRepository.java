@@ -0,0 +1,64 @@
+package org.mentorship.reflectly.repository;
+
+import org.mentorship.reflectly.model.RevokedTokenEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedTokenEntity, String> {
+
+    /**
+     * Find the IDs of all revocations that still cover unexpired tokens.
+     * @param now The current time.
+     * @return Token IDs and user-wide markers still in effect.
+     */
+    @Query("SELECT r.tokenId FROM RevokedTokenEntity r WHERE r.expiresAt > :now")
+    List<String> findActiveTokenIds(@Param("now") Instant now);
+
+    /**
+     * Delete revocations whose tokens have expired on their own.
+     * @param now The current time.
+     * @return Number of rows deleted.
+     */
+    @Modifying
+    @Query("DELETE FROM RevokedTokenEntity r WHERE r.expiresAt <= :now")
+    int deleteExpired(@Param("now") Instant now);
+
+    /**
+     * Record a revocation unless the token is already revoked, in a single statement.
+     * Concurrent callers with the same token ID resolve on the primary key, so exactly
+     * one of them inserts the row.
+     * @return 1 if this call revoked the token, 0 if it was already revoked.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO revoked_tokens (token_id, user_id, revoked_at, expires_at)
+            VALUES (:tokenId, :userId, :revokedAt, :expiresAt)
+            ON CONFLICT (token_id) DO NOTHING
+            """, nativeQuery = true)
+    int insertIfAbsent(@Param("tokenId") String tokenId, @Param("userId") Long userId,
+                       @Param("revokedAt") Instant revokedAt, @Param("expiresAt") Instant expiresAt);
+
+    /**
+     * Record a user-wide revocation, or move an existing one forward, in a single statement.
+     * Concurrent callers resolve on the primary key instead of failing, and neither
+     * timestamp ever moves back.
+     * @return Number of rows written, always 1.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO revoked_tokens (token_id, user_id, revoked_at, expires_at)
+            VALUES (:tokenId, :userId, :revokedAt, :expiresAt)
+            ON CONFLICT (token_id) DO UPDATE
+                SET revoked_at = GREATEST(revoked_tokens.revoked_at, EXCLUDED.revoked_at),
+                    expires_at = GREATEST(revoked_tokens.expires_at, EXCLUDED.expires_at)
+            """, nativeQuery = true)
+    int upsert(@Param("tokenId") String tokenId, @Param("userId") Long userId,
+               @Param("revokedAt") Instant revokedAt, @Param("expiresAt") Instant expiresAt);
+}
@@ -0,0 +1,10 @@
+package org.mentorship.reflectly.repository;
+
+import org.mentorship.reflectly.model.UserEntity;
+
+/**
+ * The user row an upsert left behind, and whether the upsert inserted or updated it.
+ * When {@code changed} is false the row was already up to date and was not written.
+ */
+public record UpsertedUser(UserEntity user, boolean changed) {
+}
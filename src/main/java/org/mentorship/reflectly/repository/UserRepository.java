@@ -2,12 +2,52 @@ package org.mentorship.reflectly.repository;
 
 import org.mentorship.reflectly.model.UserEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
 @Repository
-public interface UserRepository extends JpaRepository<UserEntity, Long> {
+public interface UserRepository extends JpaRepository<UserEntity, Long>, UserUpsertRepository {
     Optional<UserEntity> findByEmail(String email);
     Optional<UserEntity> findByUsername(String username);
-}
\ No newline at end of file
+
+    /**
+     * Insert a credential user unless the username is already taken, in a single statement.
+     * @param username The requested username.
+     * @param fullName The display name.
+     * @param passwordHash The encoded password.
+     * @return The inserted user, or empty if the username is already taken.
+     */
+    @Transactional
+    @Query(value = """
+            INSERT INTO users (username, full_name, picture_url, password_hash)
+            VALUES (:username, :fullName, '', :passwordHash)
+            ON CONFLICT (username) DO NOTHING
+            RETURNING *
+            """, nativeQuery = true)
+    Optional<UserEntity> insertIfUsernameAvailable(
+            @Param("username") String username,
+            @Param("fullName") String fullName,
+            @Param("passwordHash") String passwordHash
+    );
+
+    /**
+     * Replace a user's password hash, but only if it is still the expected one.
+     * @param id The user ID.
+     * @param expectedHash The hash the new one was derived from.
+     * @param passwordHash The new encoded password.
+     * @return 1 if the hash was replaced, 0 if it had changed in the meantime.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE UserEntity u SET u.passwordHash = :passwordHash WHERE u.id = :id AND u.passwordHash = :expectedHash")
+    int updatePasswordHash(
+            @Param("id") Long id,
+            @Param("expectedHash") String expectedHash,
+            @Param("passwordHash") String passwordHash
+    );
+}
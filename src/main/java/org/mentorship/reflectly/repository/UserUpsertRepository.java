@@ -0,0 +1,24 @@
+package org.mentorship.reflectly.repository;
+
+import java.util.Optional;
+
+/**
+ * Upserts that report whether they wrote the row. Mixed into {@link UserRepository};
+ * a derived or annotated query can only return the entity.
+ */
+public interface UserUpsertRepository {
+
+    /**
+     * Insert a Google user or refresh its name and picture in a single statement.
+     * The row is only written when the name or picture actually changed; otherwise the
+     * existing row is returned unchanged. Concurrent first logins for the same email
+     * resolve on the unique constraint instead of failing.
+     * @param email The Google account email.
+     * @param fullName The display name from the Google profile.
+     * @param pictureUrl The picture URL from the Google profile.
+     * @return The inserted, updated or existing user, flagged as changed unless it was the
+     *         existing row. Empty only if a concurrent insert committed after this
+     *         statement's snapshot was taken.
+     */
+    Optional<UpsertedUser> upsertByEmail(String email, String fullName, String pictureUrl);
+}
@@ -0,0 +1,51 @@
+package org.mentorship.reflectly.repository;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.type.StandardBasicTypes;
+import org.mentorship.reflectly.model.UserEntity;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+
+@RequiredArgsConstructor
+class UserUpsertRepositoryImpl implements UserUpsertRepository {
+
+    // The RETURNING branch only yields a row the statement inserted or updated; the
+    // fallback branch yields the existing row when the update's WHERE skipped it
+    private static final String UPSERT_BY_EMAIL = """
+            WITH upserted AS (
+                INSERT INTO users (email, full_name, picture_url)
+                VALUES (:email, :fullName, :pictureUrl)
+                ON CONFLICT (email) DO UPDATE
+                    SET full_name = EXCLUDED.full_name, picture_url = EXCLUDED.picture_url
+                    WHERE users.full_name IS DISTINCT FROM EXCLUDED.full_name
+                       OR users.picture_url IS DISTINCT FROM EXCLUDED.picture_url
+                RETURNING *
+            )
+            SELECT *, true AS changed FROM upserted
+            UNION ALL
+            SELECT *, false AS changed FROM users WHERE email = :email AND NOT EXISTS (SELECT 1 FROM upserted)
+            """;
+
+    private final EntityManager entityManager;
+
+    @Override
+    @Transactional
+    @SuppressWarnings("unchecked")
+    public Optional<UpsertedUser> upsertByEmail(String email, String fullName, String pictureUrl) {
+        List<Object[]> rows = entityManager.createNativeQuery(UPSERT_BY_EMAIL)
+                .unwrap(NativeQuery.class)
+                .addEntity(UserEntity.class)
+                .addScalar("changed", StandardBasicTypes.BOOLEAN)
+                .setParameter("email", email)
+                .setParameter("fullName", fullName)
+                .setParameter("pictureUrl", pictureUrl)
+                .getResultList();
+        return rows.stream()
+                .findFirst()
+                .map(row -> new UpsertedUser((UserEntity) row[0], (Boolean) row[1]));
+    }
+}
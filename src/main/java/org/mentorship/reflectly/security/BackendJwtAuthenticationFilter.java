@@ -1,35 +1,40 @@
 package org.mentorship.reflectly.security;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
-import org.mentorship.reflectly.dto.ErrorResponseDto;
 import org.mentorship.reflectly.model.UserEntity;
-import org.mentorship.reflectly.repository.UserRepository;
+import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.context.RequestAttributeSecurityContextRepository;
+import org.springframework.security.web.context.SecurityContextRepository;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.Optional;
 
 /**
  * Filter that validates backend-issued JWTs on protected routes.
- * Runs before Spring's oauth2ResourceServer filter so that backend JWTs
- * are handled here, and only unrecognized tokens fall through to the
- * Google ID token flow (for backward compatibility during migration).
+ * Runs before Spring's oauth2ResourceServer filter. Each bearer token is classified
+ * once by TokenClassifier: backend JWTs are verified here, Google ID tokens fall
+ * through to the oauth2ResourceServer flow (for backward compatibility during
+ * migration), and anything else is rejected without reaching a verifier.
  */
 @Component
 @RequiredArgsConstructor
 public class BackendJwtAuthenticationFilter extends OncePerRequestFilter {
 
+    private final TokenClassifier tokenClassifier;
     private final JwtService jwtService;
-    private final UserRepository userRepository;
-    private final ObjectMapper objectMapper;
+    private final TokenRevocationService tokenRevocationService;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final UserPrincipalCache userPrincipalCache;
+    private final ErrorResponseWriter errorResponseWriter;
+    private final SecurityContextRepository securityContextRepository = new RequestAttributeSecurityContextRepository();
 
     @Override
     protected boolean shouldNotFilter(HttpServletRequest request) {
@@ -43,42 +48,60 @@ public class BackendJwtAuthenticationFilter extends OncePerRequestFilter {
 
         String authorization = request.getHeader("Authorization");
 
-        if (authorization != null && authorization.startsWith("Bearer ")) {
-            String token = authorization.substring(7);
-
-            // Try to parse as a backend JWT first
-            try {
-                Claims claims = jwtService.parseToken(token);
-                String userId = claims.getSubject();
-
-                Optional<UserEntity> userOpt = userRepository.findById(Long.parseLong(userId));
-                if (userOpt.isEmpty()) {
-                    sendUnauthorizedResponse(response, "User not found");
-                    return;
-                }
-
-                UserEntity user = userOpt.get();
-                GoogleAuthenticationToken authentication = new GoogleAuthenticationToken(user, token, null);
-                SecurityContextHolder.getContext().setAuthentication(authentication);
-
-                // Skip the rest of the security filter chain's JWT processing
-                // since we've already authenticated
-                filterChain.doFilter(request, response);
-                return;
-            } catch (Exception e) {
-                // Not a valid backend JWT — let it fall through to the
-                // existing Google ID token oauth2ResourceServer flow
-                // for backward compatibility during migration
-            }
+        if (authorization == null || !authorization.startsWith("Bearer ")) {
+            filterChain.doFilter(request, response);
+            return;
         }
 
-        filterChain.doFilter(request, response);
+        String token = authorization.substring(7);
+        TokenClassifier.ClassifiedToken classified = tokenClassifier.classify(token);
+
+        switch (classified.type()) {
+            case GOOGLE -> filterChain.doFilter(request, response);
+            case UNSUPPORTED -> errorResponseWriter.sendUnauthorized(response, "Invalid token");
+            case BACKEND -> authenticateBackendToken(token, classified, request, response, filterChain);
+        }
     }
 
-    private void sendUnauthorizedResponse(HttpServletResponse response, String message) throws IOException {
-        ErrorResponseDto error = ErrorResponseDto.builder().message(message).build();
-        response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
-        response.setContentType("application/json");
-        response.getWriter().write(objectMapper.writeValueAsString(error));
+    private void authenticateBackendToken(String token, TokenClassifier.ClassifiedToken classified,
+                                          HttpServletRequest request, HttpServletResponse response,
+                                          FilterChain filterChain) throws ServletException, IOException {
+        // Reject expired tokens before spending an HMAC verification on them
+        if (classified.isExpired()) {
+            errorResponseWriter.sendUnauthorized(response, "Token expired");
+            return;
+        }
+
+        Claims claims;
+        try {
+            claims = verifiedTokenCache.verify(token);
+        } catch (JwtException e) {
+            errorResponseWriter.sendUnauthorized(response, "Invalid token");
+            return;
+        }
+
+        if (jwtService.isRefreshToken(claims)) {
+            errorResponseWriter.sendUnauthorized(response, "Invalid token");
+            return;
+        }
+        if (tokenRevocationService.isRevoked(claims)) {
+            errorResponseWriter.sendUnauthorized(response, "Token revoked");
+            return;
+        }
+
+        UserEntity user = userPrincipalCache.get(Long.parseLong(claims.getSubject()));
+        if (user == null) {
+            errorResponseWriter.sendUnauthorized(response, "User not found");
+            return;
+        }
+
+        GoogleAuthenticationToken authentication = new GoogleAuthenticationToken(user, token, null);
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(authentication);
+        SecurityContextHolder.setContext(context);
+        // This filter skips async dispatches, so keep the context for handlers that return a future
+        securityContextRepository.saveContext(context, request, response);
+
+        filterChain.doFilter(request, response);
     }
 }
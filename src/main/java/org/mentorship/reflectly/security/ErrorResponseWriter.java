@@ -0,0 +1,45 @@
+package org.mentorship.reflectly.security;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.mentorship.reflectly.dto.ErrorResponseDto;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Writes ErrorResponseDto bodies from filters. Filters only ever emit a handful of
+ * fixed messages, so each body is serialized once and reused, keeping the rejection
+ * path cheaper than the success path.
+ */
+@Component
+@RequiredArgsConstructor
+public class ErrorResponseWriter {
+
+    private final ObjectMapper objectMapper;
+    private final Map<String, byte[]> serializedBodies = new ConcurrentHashMap<>();
+
+    public void sendUnauthorized(HttpServletResponse response, String message) throws IOException {
+        send(response, HttpServletResponse.SC_UNAUTHORIZED, message);
+    }
+
+    public void send(HttpServletResponse response, int status, String message) throws IOException {
+        byte[] body = serializedBodies.computeIfAbsent(message, this::serialize);
+        response.setStatus(status);
+        response.setContentType("application/json");
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    private byte[] serialize(String message) {
+        try {
+            return objectMapper.writeValueAsBytes(ErrorResponseDto.builder().message(message).build());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize error response", e);
+        }
+    }
+}
@@ -1,7 +1,6 @@
 package org.mentorship.reflectly.security;
 
 import com.google.api.client.googleapis.auth.oauth2.GoogleIdToken;
-import com.google.api.client.googleapis.auth.oauth2.GoogleIdTokenVerifier;
 import lombok.RequiredArgsConstructor;
 import org.mentorship.reflectly.model.UserEntity;
 import org.mentorship.reflectly.service.UserService;
@@ -10,28 +9,34 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.stereotype.Component;
 
-import java.security.GeneralSecurityException;
-
+/**
+ * Converts a Google ID token that the resource server's JwtDecoder has already verified
+ * (signature, issuer and timestamps) into a GoogleAuthenticationToken. The decoded Jwt is
+ * the single verification result for the request: its claims are used to resolve the
+ * user here, and its expiry is read back from the authentication by JwtExpirationFilter.
+ */
 @Component
 @RequiredArgsConstructor
 public class GoogleAuthenticationConverter implements Converter<Jwt, GoogleAuthenticationToken> {
 
-    private final GoogleIdTokenVerifier googleVerifier;
     private final UserService userService;
 
     @Override
     public GoogleAuthenticationToken convert(Jwt jwt) {
-        try {
-            GoogleIdToken idToken = googleVerifier.verify(jwt.getTokenValue());
-            UserEntity user = userService.findOrCreateUser(idToken.getPayload());
+        UserEntity user = userService.findOrCreateUser(toPayload(jwt));
 
-            GoogleAuthenticationToken authentication = new GoogleAuthenticationToken(user, jwt.getTokenValue(), jwt);
-            SecurityContextHolder.getContext().setAuthentication(authentication);
+        GoogleAuthenticationToken authentication = new GoogleAuthenticationToken(user, jwt.getTokenValue(), jwt);
+        SecurityContextHolder.getContext().setAuthentication(authentication);
 
-            return authentication;
-        } catch (GeneralSecurityException | java.io.IOException e) {
-            throw new RuntimeException("Invalid Google ID token", e);
-        }
+        return authentication;
+    }
 
+    private GoogleIdToken.Payload toPayload(Jwt jwt) {
+        GoogleIdToken.Payload payload = new GoogleIdToken.Payload();
+        payload.setSubject(jwt.getSubject());
+        payload.setEmail(jwt.getClaimAsString("email"));
+        payload.set("name", jwt.getClaimAsString("name"));
+        payload.set("picture", jwt.getClaimAsString("picture"));
+        return payload;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,56 @@
+package org.mentorship.reflectly.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.mentorship.reflectly.config.RateLimitProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Token bucket rate limiting per route group and client IP (see RateLimitProperties).
+ * Runs before authentication, so requests with missing, invalid or expired tokens are
+ * throttled too and cannot make the server verify tokens without limit. Authenticated
+ * requests are limited per user as well, by UserRateLimitFilter. Behind the Azure front
+ * end the client IP comes from X-Forwarded-For (see server.forward-headers-strategy).
+ */
+@Component
+@RequiredArgsConstructor
+public class IpRateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimiter rateLimiter;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !rateLimiter.isEnabled() || rateLimiter.findGroup(request.getRequestURI()) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Map.Entry<String, RateLimitProperties.Group> group = rateLimiter.findGroup(request.getRequestURI());
+        RateLimitProperties.Group limits = group.getValue();
+        String client = "ip:" + withoutPort(request.getRemoteAddr());
+        if (rateLimiter.tryAcquire(group.getKey(), client, limits.ipCapacity(), limits.ipRefillPerSecond(), response)) {
+            filterChain.doFilter(request, response);
+        }
+    }
+
+    /**
+     * Strip a port some proxies append to the forwarded client address ("1.2.3.4:5678" or
+     * "[::1]:5678"), so every connection from one client shares a bucket.
+     */
+    private static String withoutPort(String address) {
+        if (address.startsWith("[")) {
+            int end = address.indexOf(']');
+            return end > 0 ? address.substring(1, end) : address;
+        }
+        int colon = address.indexOf(':');
+        return colon > 0 && colon == address.lastIndexOf(':') ? address.substring(0, colon) : address;
+    }
+}
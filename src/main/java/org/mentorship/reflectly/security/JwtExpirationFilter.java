@@ -1,84 +1,53 @@
 package org.mentorship.reflectly.security;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
-import org.mentorship.reflectly.dto.ErrorResponseDto;
-import org.springframework.security.oauth2.jwt.Jwt;
-import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
-import org.springframework.security.core.context.SecurityContextHolder;
-
 import java.io.IOException;
 import java.time.Instant;
 
 /**
  * JWT Expiration Filter to validate token expiration after authentication.
+ * Reads the expiry from the Jwt already decoded by the oauth2ResourceServer flow
+ * instead of decoding the token a second time.
  */
 @Component
 @RequiredArgsConstructor
 public class JwtExpirationFilter extends OncePerRequestFilter {
 
-    private final JwtDecoder jwtDecoder;
-    private final ObjectMapper objectMapper;
+    private final ErrorResponseWriter errorResponseWriter;
 
     @Override
     protected boolean shouldNotFilter(HttpServletRequest request) {
         String path = request.getRequestURI();
         // Skip public auth routes
-        if (path.startsWith("/api/auth/")) {
-            return true;
-        }
-        // Skip if already authenticated by BackendJwtAuthenticationFilter
-        return SecurityContextHolder.getContext().getAuthentication() != null
-                && SecurityContextHolder.getContext().getAuthentication().isAuthenticated();
+        return path.startsWith("/api/auth/");
     }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
-        // Retrieve the "Authorization" header from the HTTP request
-        String authorization = request.getHeader("Authorization");
-
-        // Check if the "Authorization" header is present and starts with "Bearer "
-        if (authorization != null && authorization.startsWith("Bearer ")) {
-            // Extract the JWT token by removing the "Bearer " prefix
-            String token = authorization.substring(7);
-            try {
-                // Decode the JWT token using the JwtDecoder
-                Jwt jwt = jwtDecoder.decode(token);
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
 
-                // Check if the JWT token is expired
-                if (isJwtExpired(jwt)) {
-                    sendUnauthorizedResponse(response, "JWT token expired");
-                    return;
-                }
-            } catch (Exception e) {
-                sendUnauthorizedResponse(response, "Invalid JWT token");
-                return;
-            }
+        // Backend JWTs carry no decoded Jwt here; their expiry is enforced by JwtService
+        if (authentication instanceof GoogleAuthenticationToken googleAuth && isJwtExpired(googleAuth)) {
+            errorResponseWriter.sendUnauthorized(response, "JWT token expired");
+            return;
         }
 
         // Continue the filter chain if the token is valid or no token is provided
         filterChain.doFilter(request, response);
     }
 
-    private boolean isJwtExpired(Jwt jwt) {
-        Instant expiresAt = jwt.getExpiresAt();
-        return expiresAt != null && expiresAt.isBefore(Instant.now());
-    }
-
-    private void sendUnauthorizedResponse(HttpServletResponse response, String message) throws IOException {
-        ErrorResponseDto error = ErrorResponseDto.builder().message(message).build();
-
-        response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
-        response.setContentType("application/json");
-        response.getWriter().write(objectMapper.writeValueAsString(error));
+    private boolean isJwtExpired(GoogleAuthenticationToken authentication) {
+        Long expiresAt = authentication.getTokenExpiresAt();
+        return expiresAt != null && Instant.ofEpochSecond(expiresAt).isBefore(Instant.now());
     }
 }
-
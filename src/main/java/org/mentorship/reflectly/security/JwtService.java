@@ -1,14 +1,17 @@
 package org.mentorship.reflectly.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import lombok.Getter;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
 import java.util.Date;
+import java.util.UUID;
 
 /**
  * Service for generating and validating backend-issued JWTs.
@@ -17,18 +20,34 @@ import java.util.Date;
 @Service
 public class JwtService {
 
+    private static final String TOKEN_TYPE_CLAIM = "token_type";
+    private static final String REFRESH_TOKEN_TYPE = "refresh";
+
     private final SecretKey signingKey;
+    @Getter
     private final long expirationMs;
+    @Getter
+    private final long refreshExpirationMs;
+    private final String issuer;
+    // JwtParser is immutable and thread-safe, so build it once instead of per call
+    private final JwtParser jwtParser;
 
     public JwtService(
             @Value("${app.jwt.secret}") String secret,
-            @Value("${app.jwt.expiration-ms:86400000}") long expirationMs) {
+            @Value("${app.jwt.expiration-ms:900000}") long expirationMs,
+            @Value("${app.jwt.refresh-expiration-ms:2592000000}") long refreshExpirationMs,
+            @Value("${app.jwt.issuer:reflectly}") String issuer) {
         this.signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
         this.expirationMs = expirationMs;
+        this.refreshExpirationMs = refreshExpirationMs;
+        this.issuer = issuer;
+        this.jwtParser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
     }
 
     /**
-     * Generate a backend JWT for the given user.
+     * Generate a short-lived backend access JWT for the given user.
      *
      * @param userId    the user's database ID
      * @param email     the user's email
@@ -39,6 +58,8 @@ public class JwtService {
         Date expiry = new Date(now.getTime() + expirationMs);
 
         return Jwts.builder()
+                .id(UUID.randomUUID().toString())
+                .issuer(issuer)
                 .subject(userId)
                 .claim("email", email)
                 .issuedAt(now)
@@ -47,6 +68,35 @@ public class JwtService {
                 .compact();
     }
 
+    /**
+     * Generate a long-lived refresh token for the given user. Refresh tokens are only
+     * accepted by the refresh endpoint, never as API credentials.
+     *
+     * @param userId the user's database ID
+     * @return signed JWT string
+     */
+    public String generateRefreshToken(String userId) {
+        Date now = new Date();
+        Date expiry = new Date(now.getTime() + refreshExpirationMs);
+
+        return Jwts.builder()
+                .id(UUID.randomUUID().toString())
+                .issuer(issuer)
+                .subject(userId)
+                .claim(TOKEN_TYPE_CLAIM, REFRESH_TOKEN_TYPE)
+                .issuedAt(now)
+                .expiration(expiry)
+                .signWith(signingKey)
+                .compact();
+    }
+
+    /**
+     * Check whether verified claims belong to a refresh token rather than an access token.
+     */
+    public boolean isRefreshToken(Claims claims) {
+        return REFRESH_TOKEN_TYPE.equals(claims.get(TOKEN_TYPE_CLAIM, String.class));
+    }
+
     /**
      * Parse and validate a backend JWT, returning its claims.
      *
@@ -55,9 +105,7 @@ public class JwtService {
      * @throws io.jsonwebtoken.JwtException if the token is invalid or expired
      */
     public Claims parseToken(String token) {
-        return Jwts.parser()
-                .verifyWith(signingKey)
-                .build()
+        return jwtParser
                 .parseSignedClaims(token)
                 .getPayload();
     }
@@ -0,0 +1,126 @@
+package org.mentorship.reflectly.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.mentorship.reflectly.exception.ServiceUnavailableException;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Bulkhead around the PasswordEncoder. Hashing and verification run on a dedicated pool
+ * sized to the core count with a bounded queue, so a burst of logins cannot starve the
+ * rest of the API of CPU. Callers get a future and return it to Spring MVC, so request
+ * threads are released while the work waits or runs. When the queue is full the future
+ * fails at once, and when a task has not finished within the configured timeout it fails
+ * then, in both cases with a 503 instead of queueing forever. A task that times out while
+ * still queued is skipped. Results are handed to the application task executor, so
+ * callers' continuations (database writes in particular) never hold a hashing thread.
+ * Queue depth is published as the "password.hashing" executor
+ * metrics and hash latency as the "password.hash" timer.
+ */
+@Component
+public class PasswordHasher {
+
+    private static final String BUSY_MESSAGE = "Too many concurrent sign-ins, please retry";
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final ExecutorService monitoredExecutor;
+    private final Executor timeout;
+    private final Executor completionExecutor;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+
+    public PasswordHasher(
+            PasswordEncoder passwordEncoder,
+            MeterRegistry meterRegistry,
+            @Value("${app.password-hashing.pool-size:0}") int poolSize,
+            @Value("${app.password-hashing.queue-capacity:64}") int queueCapacity,
+            @Value("${app.password-hashing.timeout-ms:5000}") long timeoutMs,
+            @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME) Executor completionExecutor) {
+        this.passwordEncoder = passwordEncoder;
+        this.completionExecutor = completionExecutor;
+        this.timeout = CompletableFuture.delayedExecutor(timeoutMs, TimeUnit.MILLISECONDS);
+
+        int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        this.executor = new ThreadPoolExecutor(
+                threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("password-hashing-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.monitoredExecutor = ExecutorServiceMetrics.monitor(meterRegistry, executor, "password.hashing");
+        this.encodeTimer = Timer.builder("password.hash").tag("operation", "encode").register(meterRegistry);
+        this.matchesTimer = Timer.builder("password.hash").tag("operation", "matches").register(meterRegistry);
+    }
+
+    /**
+     * Hash a password on the hashing pool. The returned future completes on the
+     * application task executor.
+     */
+    public CompletableFuture<String> encode(String rawPassword) {
+        return run(() -> encodeTimer.record(() -> passwordEncoder.encode(rawPassword)));
+    }
+
+    /**
+     * Check a password against a stored hash on the hashing pool.
+     */
+    public CompletableFuture<Boolean> matches(String rawPassword, String encodedPassword) {
+        return run(() -> matchesTimer.record(() -> passwordEncoder.matches(rawPassword, encodedPassword)));
+    }
+
+    /**
+     * Whether a task submitted now would start right away, without queueing. Lets callers
+     * skip optional work, such as rehashing on login, while the pool is busy.
+     */
+    public boolean hasSpareCapacity() {
+        return executor.getQueue().isEmpty() && executor.getActiveCount() < executor.getMaximumPoolSize();
+    }
+
+    /**
+     * Whether a stored hash should be re-encoded with the current encoder settings.
+     * Only inspects the hash prefix, so it runs on the calling thread.
+     */
+    public boolean upgradeEncoding(String encodedPassword) {
+        return passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> CompletableFuture<T> run(Supplier<T> task) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        try {
+            monitoredExecutor.execute(() -> {
+                if (result.isDone()) {
+                    return;
+                }
+                try {
+                    result.complete(task.get());
+                } catch (RuntimeException e) {
+                    result.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(new ServiceUnavailableException(BUSY_MESSAGE));
+        }
+        timeout.execute(() -> result.completeExceptionally(new ServiceUnavailableException(BUSY_MESSAGE)));
+        return result.thenApplyAsync(value -> value, completionExecutor);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
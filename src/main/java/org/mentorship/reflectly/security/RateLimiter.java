@@ -0,0 +1,88 @@
+package org.mentorship.reflectly.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.mentorship.reflectly.config.RateLimitProperties;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token buckets per route group and client, shared by IpRateLimitFilter and
+ * UserRateLimitFilter. Every limited response carries X-RateLimit-Limit /
+ * X-RateLimit-Remaining for the last bucket checked, and rejections add Retry-After.
+ */
+@Component
+@RequiredArgsConstructor
+public class RateLimiter {
+
+    private final RateLimitProperties properties;
+    private final ErrorResponseWriter errorResponseWriter;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * The group a request path belongs to: the one with the longest matching prefix.
+     *
+     * @return the group's name and limits, or null if the path is not rate limited
+     */
+    public Map.Entry<String, RateLimitProperties.Group> findGroup(String path) {
+        Map.Entry<String, RateLimitProperties.Group> best = null;
+        for (Map.Entry<String, RateLimitProperties.Group> entry : properties.getGroups().entrySet()) {
+            String prefix = entry.getValue().getPathPrefix();
+            if (path.startsWith(prefix)
+                    && (best == null || prefix.length() > best.getValue().getPathPrefix().length())) {
+                best = entry;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Take a token from the client's bucket in the group, or send 429 Too Many Requests.
+     *
+     * @param client key of the client within the group, e.g. "ip:1.2.3.4" or "user:42"
+     * @return true if the request may proceed; false if the rejection has been sent
+     */
+    public boolean tryAcquire(String group, String client, int capacity, double refillPerSecond,
+                              HttpServletResponse response) throws IOException {
+        long now = System.nanoTime();
+        TokenBucket bucket = buckets.computeIfAbsent(group + ":" + client,
+                k -> new TokenBucket(capacity, refillPerSecond, now));
+        long result = bucket.tryConsume(now);
+
+        response.setHeader("X-RateLimit-Limit", String.valueOf(capacity));
+        if (result < 0) {
+            long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(-result + 999_999_999L));
+            response.setHeader("X-RateLimit-Remaining", "0");
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+            meterRegistry.counter("http.rate-limit.rejected", "group", group).increment();
+            errorResponseWriter.send(response, HttpStatus.TOO_MANY_REQUESTS.value(), "Too many requests");
+            return false;
+        }
+        response.setHeader("X-RateLimit-Remaining", String.valueOf(result));
+        return true;
+    }
+
+    /**
+     * Drop buckets that have refilled and gone unused, so memory stays bounded by the
+     * number of recently active clients.
+     */
+    @Scheduled(fixedDelayString = "${app.rate-limit.cleanup-interval-ms:60000}")
+    public void evictIdleBuckets() {
+        long now = System.nanoTime();
+        long idleNanos = properties.getIdleTimeout().toNanos();
+        buckets.values().removeIf(bucket -> bucket.isIdle(now, idleNanos));
+    }
+}
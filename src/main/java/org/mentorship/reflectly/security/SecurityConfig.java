@@ -34,6 +34,8 @@ public class SecurityConfig {
     private final JwtExpirationFilter jwtExpirationFilter;
     private final BackendJwtAuthenticationFilter backendJwtAuthenticationFilter;
     private final PrivateNetworkAccessFilter privateNetworkAccessFilter;
+    private final IpRateLimitFilter ipRateLimitFilter;
+    private final UserRateLimitFilter userRateLimitFilter;
 
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
@@ -50,7 +52,11 @@ public class SecurityConfig {
                         // All other requests require authentication
                         .anyRequest().authenticated())
                 .addFilterBefore(backendJwtAuthenticationFilter, BearerTokenAuthenticationFilter.class)
+                // Rate limit by IP before any token is verified, so bad tokens are throttled too
+                .addFilterBefore(ipRateLimitFilter, BackendJwtAuthenticationFilter.class)
                 .addFilterAfter(jwtExpirationFilter, BearerTokenAuthenticationFilter.class)
+                // and by user once the user is known
+                .addFilterAfter(userRateLimitFilter, JwtExpirationFilter.class)
                 .oauth2ResourceServer(configurer -> configurer
                         .bearerTokenResolver(skipIfAlreadyAuthenticated())
                         .jwt(jwt -> jwt.jwtAuthenticationConverter(googleAuthenticationConverter)));
@@ -62,10 +68,15 @@ public class SecurityConfig {
      * Custom BearerTokenResolver that returns null when the request is already
      * authenticated by BackendJwtAuthenticationFilter, preventing Spring's
      * oauth2 BearerTokenAuthenticationFilter from re-processing backend JWTs.
+     * Auth routes are skipped too: /api/auth/logout receives a backend JWT that
+     * must not be treated as a Google ID token.
      */
     private BearerTokenResolver skipIfAlreadyAuthenticated() {
         DefaultBearerTokenResolver defaultResolver = new DefaultBearerTokenResolver();
         return request -> {
+            if (request.getRequestURI().startsWith("/api/auth/")) {
+                return null;
+            }
             var auth = SecurityContextHolder.getContext().getAuthentication();
             if (auth != null && auth.isAuthenticated()) {
                 return null;
@@ -94,7 +105,8 @@ public class SecurityConfig {
         configuration.setAllowedHeaders(Arrays.asList("*"));
 
         // Expose headers (Safari does not support wildcard '*' with credentials)
-        configuration.setExposedHeaders(Arrays.asList("Authorization", "Content-Type", "Content-Length"));
+        configuration.setExposedHeaders(Arrays.asList("Authorization", "Content-Type", "Content-Length",
+                "ETag", "Retry-After", "X-RateLimit-Limit", "X-RateLimit-Remaining"));
 
         // Allow credentials (cookies, authorization headers)
         configuration.setAllowCredentials(true);
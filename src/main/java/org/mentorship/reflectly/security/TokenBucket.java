@@ -0,0 +1,52 @@
+package org.mentorship.reflectly.security;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket implemented as GCRA (generic cell rate algorithm). The whole
+ * bucket state is a single "theoretical arrival time" updated by compare-and-set, so
+ * concurrent requests for the same key never block each other.
+ */
+class TokenBucket {
+
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final AtomicLong theoreticalArrivalNanos;
+
+    TokenBucket(int capacity, double refillPerSecond, long nowNanos) {
+        if (capacity < 1 || !(refillPerSecond > 0)) {
+            throw new IllegalArgumentException(
+                    "Token bucket needs a positive capacity and refill rate, got " + capacity + " and " + refillPerSecond);
+        }
+        this.emissionIntervalNanos = (long) (1_000_000_000L / refillPerSecond);
+        this.burstToleranceNanos = emissionIntervalNanos * capacity;
+        this.theoreticalArrivalNanos = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * Try to take one token.
+     *
+     * @return remaining tokens (>= 0) if allowed, or the negated nanoseconds until a
+     *         token becomes available (< 0) if rejected
+     */
+    long tryConsume(long nowNanos) {
+        while (true) {
+            long current = theoreticalArrivalNanos.get();
+            long next = Math.max(current, nowNanos) + emissionIntervalNanos;
+            long debt = next - nowNanos;
+            if (debt > burstToleranceNanos) {
+                return -Math.max(1, debt - burstToleranceNanos);
+            }
+            if (theoreticalArrivalNanos.compareAndSet(current, next)) {
+                return (burstToleranceNanos - debt) / emissionIntervalNanos;
+            }
+        }
+    }
+
+    /**
+     * A bucket is idle once it has fully refilled and stayed untouched for the given time.
+     */
+    boolean isIdle(long nowNanos, long idleNanos) {
+        return nowNanos - theoreticalArrivalNanos.get() > idleNanos;
+    }
+}
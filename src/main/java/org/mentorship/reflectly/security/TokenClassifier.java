@@ -0,0 +1,112 @@
+package org.mentorship.reflectly.security;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Set;
+
+/**
+ * Routes a bearer token to the right verifier by reading its unverified JOSE header
+ * and payload once. Nothing read here is trusted: the result only decides which
+ * verifier runs, and lets obviously expired or malformed tokens be rejected cheaply.
+ */
+@Component
+public class TokenClassifier {
+
+    private static final Set<String> GOOGLE_ISSUERS = Set.of("https://accounts.google.com", "accounts.google.com");
+
+    private final ObjectMapper objectMapper;
+    private final String backendIssuer;
+
+    public TokenClassifier(ObjectMapper objectMapper, @Value("${app.jwt.issuer:reflectly}") String backendIssuer) {
+        this.objectMapper = objectMapper;
+        this.backendIssuer = backendIssuer;
+    }
+
+    public enum TokenType {
+        /** HMAC-signed token issued by JwtService */
+        BACKEND,
+        /** RSA-signed Google ID token handled by the oauth2 resource server */
+        GOOGLE,
+        /** Not a JWT, or a JWT from an issuer we do not accept */
+        UNSUPPORTED
+    }
+
+    /**
+     * Unverified view of a token.
+     *
+     * @param type      which verifier should handle the token
+     * @param expiresAt the "exp" claim, or null if absent
+     */
+    public record ClassifiedToken(TokenType type, Instant expiresAt) {
+
+        private static final ClassifiedToken UNSUPPORTED = new ClassifiedToken(TokenType.UNSUPPORTED, null);
+
+        public boolean isExpired() {
+            return expiresAt != null && expiresAt.isBefore(Instant.now());
+        }
+    }
+
+    public ClassifiedToken classify(String token) {
+        int firstDot = token.indexOf('.');
+        int secondDot = firstDot < 0 ? -1 : token.indexOf('.', firstDot + 1);
+        if (firstDot <= 0 || secondDot < 0 || token.indexOf('.', secondDot + 1) >= 0) {
+            return ClassifiedToken.UNSUPPORTED;
+        }
+
+        JsonNode header = decodeSegment(token.substring(0, firstDot));
+        JsonNode payload = decodeSegment(token.substring(firstDot + 1, secondDot));
+        if (header == null || payload == null) {
+            return ClassifiedToken.UNSUPPORTED;
+        }
+
+        String alg = header.path("alg").asText("");
+        String kid = header.path("kid").asText(null);
+        String iss = payload.path("iss").asText(null);
+        Instant expiresAt = payload.path("exp").canConvertToLong()
+                ? Instant.ofEpochSecond(payload.path("exp").asLong())
+                : null;
+
+        // Backend tokens are HMAC-signed without a key ID; tokens issued before the
+        // issuer claim was introduced carry no "iss" at all
+        if (alg.startsWith("HS") && kid == null && (iss == null || backendIssuer.equals(iss))) {
+            return new ClassifiedToken(TokenType.BACKEND, expiresAt);
+        }
+        if (alg.startsWith("RS") && kid != null && iss != null && GOOGLE_ISSUERS.contains(iss)) {
+            return new ClassifiedToken(TokenType.GOOGLE, expiresAt);
+        }
+        return ClassifiedToken.UNSUPPORTED;
+    }
+
+    private JsonNode decodeSegment(String segment) {
+        if (!isBase64Url(segment)) {
+            return null;
+        }
+        try {
+            JsonNode node = objectMapper.readTree(Base64.getUrlDecoder().decode(segment));
+            return node != null && node.isObject() ? node : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static boolean isBase64Url(String segment) {
+        if (segment.isEmpty() || segment.length() % 4 == 1) {
+            return false;
+        }
+        for (int i = 0; i < segment.length(); i++) {
+            char c = segment.charAt(i);
+            boolean valid = (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9')
+                    || c == '-' || c == '_';
+            if (!valid) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,163 @@
+package org.mentorship.reflectly.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.jsonwebtoken.Claims;
+import org.mentorship.reflectly.model.RevokedTokenEntity;
+import org.mentorship.reflectly.repository.RevokedTokenRepository;
+import org.mentorship.reflectly.util.BloomFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Revocation checks for backend JWTs without a database lookup per request.
+ * The revoked_tokens table is the source of truth; an in-memory Bloom filter rebuilt from
+ * it on a fixed interval answers "definitely not revoked" for almost every request, and
+ * only filter hits are confirmed against the table (with the answer cached briefly).
+ * Revocations made on other instances become visible after the next rebuild.
+ */
+@Service
+public class TokenRevocationService {
+
+    private static final String USER_MARKER_PREFIX = "user:";
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final long expectedTokens;
+    private final Duration refreshInterval;
+    private final Duration userMarkerTtl;
+    private final Cache<String, Optional<Instant>> confirmations;
+    // Revocations made on this instance, replayed into each rebuilt filter until the
+    // rebuild query is guaranteed to see their committed rows
+    private final Map<String, Instant> localRevocations = new ConcurrentHashMap<>();
+    private volatile BloomFilter filter;
+
+    public TokenRevocationService(
+            RevokedTokenRepository revokedTokenRepository,
+            @Value("${app.jwt.revocation.expected-tokens:100000}") long expectedTokens,
+            @Value("${app.jwt.revocation.refresh-interval-ms:30000}") long refreshIntervalMs,
+            @Value("${app.jwt.refresh-expiration-ms:2592000000}") long refreshExpirationMs) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.expectedTokens = expectedTokens;
+        this.refreshInterval = Duration.ofMillis(refreshIntervalMs);
+        this.userMarkerTtl = Duration.ofMillis(refreshExpirationMs);
+        this.confirmations = Caffeine.newBuilder()
+                .expireAfterWrite(refreshInterval)
+                .maximumSize(10_000)
+                .build();
+        this.filter = new BloomFilter(expectedTokens, FALSE_POSITIVE_RATE);
+    }
+
+    /**
+     * Whether the token described by these verified claims has been revoked, either
+     * individually by its "jti" or by a user-wide revocation issued after it.
+     */
+    public boolean isRevoked(Claims claims) {
+        BloomFilter current = filter;
+
+        String tokenId = claims.getId();
+        if (tokenId != null && current.mightContain(tokenId) && confirm(tokenId).isPresent()) {
+            return true;
+        }
+
+        String userMarker = USER_MARKER_PREFIX + claims.getSubject();
+        if (!current.mightContain(userMarker)) {
+            return false;
+        }
+        Optional<Instant> revokedAt = confirm(userMarker);
+        if (revokedAt.isEmpty()) {
+            return false;
+        }
+        // "iat" has second precision, so compare against the revocation second to avoid
+        // rejecting tokens issued right after the revocation
+        Date issuedAt = claims.getIssuedAt();
+        return issuedAt == null || issuedAt.toInstant().isBefore(revokedAt.get().truncatedTo(ChronoUnit.SECONDS));
+    }
+
+    /**
+     * Revoke a single token by its "jti" claim. Revoking it again, concurrently or not,
+     * leaves the existing revocation in place.
+     */
+    @Transactional
+    public void revoke(String tokenId, Long userId, Instant expiresAt) {
+        Instant now = Instant.now();
+        revokedTokenRepository.insertIfAbsent(tokenId, userId, now, expiresAt);
+        markRevoked(tokenId, now);
+    }
+
+    /**
+     * Revoke a single token by its "jti" claim, unless it is already revoked. Of several
+     * concurrent calls for the same token, exactly one succeeds, which makes this the
+     * way to spend a single-use token.
+     *
+     * @return true if this call revoked the token, false if it was already revoked
+     */
+    @Transactional
+    public boolean claim(String tokenId, Long userId, Instant expiresAt) {
+        Instant now = Instant.now();
+        if (revokedTokenRepository.insertIfAbsent(tokenId, userId, now, expiresAt) == 0) {
+            return false;
+        }
+        markRevoked(tokenId, now);
+        return true;
+    }
+
+    /**
+     * Revoke every token issued to a user up to now, e.g. after a password change.
+     * A user revoked before has their marker moved forward to now.
+     */
+    @Transactional
+    public void revokeAllForUser(Long userId) {
+        Instant now = Instant.now();
+        String userMarker = USER_MARKER_PREFIX + userId;
+        revokedTokenRepository.upsert(userMarker, userId, now, now.plus(userMarkerTtl));
+        markRevoked(userMarker, now);
+    }
+
+    /**
+     * Purge expired revocations and rebuild the filter from the remaining rows.
+     */
+    @Scheduled(fixedDelayString = "${app.jwt.revocation.refresh-interval-ms:30000}")
+    @Transactional
+    public void rebuild() {
+        Instant now = Instant.now();
+        revokedTokenRepository.deleteExpired(now);
+        List<String> activeTokenIds = revokedTokenRepository.findActiveTokenIds(now);
+
+        BloomFilter rebuilt = new BloomFilter(Math.max(expectedTokens, activeTokenIds.size() * 2L), FALSE_POSITIVE_RATE);
+        activeTokenIds.forEach(rebuilt::put);
+        localRevocations.keySet().forEach(rebuilt::put);
+        filter = rebuilt;
+
+        Instant replayHorizon = now.minus(refreshInterval.multipliedBy(2));
+        localRevocations.values().removeIf(revokedAt -> revokedAt.isBefore(replayHorizon));
+    }
+
+    private void markRevoked(String key, Instant revokedAt) {
+        localRevocations.put(key, revokedAt);
+        filter.put(key);
+        confirmations.invalidate(key);
+    }
+
+    private Optional<Instant> confirm(String key) {
+        // Local revocations may not be committed yet, so answer them from memory
+        Instant localRevokedAt = localRevocations.get(key);
+        if (localRevokedAt != null) {
+            return Optional.of(localRevokedAt);
+        }
+        return confirmations.get(key, k -> revokedTokenRepository.findById(k)
+                .filter(revoked -> revoked.getExpiresAt().isAfter(Instant.now()))
+                .map(RevokedTokenEntity::getRevokedAt));
+    }
+}
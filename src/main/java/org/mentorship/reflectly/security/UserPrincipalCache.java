@@ -0,0 +1,66 @@
+package org.mentorship.reflectly.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.mentorship.reflectly.model.UserEntity;
+import org.mentorship.reflectly.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+/**
+ * In-process cache of detached UserEntity snapshots keyed by user ID, used to build the
+ * authentication principal without a database round-trip on every request.
+ * Writers in UserService evict entries so the next request reloads the committed row.
+ * Hit rate and load latency are published under the "users.principal" cache metrics.
+ */
+@Component
+public class UserPrincipalCache {
+
+    private final UserRepository userRepository;
+    private final Cache<Long, UserEntity> cache;
+
+    public UserPrincipalCache(
+            UserRepository userRepository,
+            MeterRegistry meterRegistry,
+            @Value("${app.user-cache.ttl:5m}") Duration ttl,
+            @Value("${app.user-cache.maximum-size:10000}") long maximumSize) {
+        this.userRepository = userRepository;
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "users.principal");
+    }
+
+    /**
+     * Return the user with the given ID, loading it from the database on a miss.
+     *
+     * @return the cached snapshot, or null if no such user exists
+     */
+    public UserEntity get(Long userId) {
+        return cache.get(userId, id -> userRepository.findById(id).orElse(null));
+    }
+
+    /**
+     * Evict a user now and again once the surrounding transaction commits, so a
+     * concurrent reload cannot re-cache the row as it was before the write.
+     */
+    public void evict(Long userId) {
+        cache.invalidate(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.invalidate(userId);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package org.mentorship.reflectly.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.mentorship.reflectly.config.RateLimitProperties;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Token bucket rate limiting per route group and authenticated user, after
+ * IpRateLimitFilter has already limited the request by client IP. Requests that are not
+ * authenticated pass through: the IP bucket is their only limit.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserRateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimiter rateLimiter;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !rateLimiter.isEnabled() || rateLimiter.findGroup(request.getRequestURI()) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (!(authentication instanceof GoogleAuthenticationToken googleAuth) || googleAuth.getUser() == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        Map.Entry<String, RateLimitProperties.Group> group = rateLimiter.findGroup(request.getRequestURI());
+        RateLimitProperties.Group limits = group.getValue();
+        String client = "user:" + googleAuth.getUser().getId();
+        if (rateLimiter.tryAcquire(group.getKey(), client, limits.getCapacity(), limits.getRefillPerSecond(), response)) {
+            filterChain.doFilter(request, response);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package org.mentorship.reflectly.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Date;
+
+/**
+ * Bounded cache of verified backend JWT claims, keyed by a SHA-256 digest of the raw token.
+ * A token is verified by {@link JwtService} the first time it is seen; repeat requests
+ * carrying the same token reuse the claims until the token's own expiry.
+ * Hit, miss and eviction counts are published under the "jwt.verified-tokens" cache metrics.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private final JwtService jwtService;
+    private final Cache<String, Claims> cache;
+
+    public VerifiedTokenCache(
+            JwtService jwtService,
+            MeterRegistry meterRegistry,
+            @Value("${app.jwt.cache.maximum-size:10000}") long maximumSize) {
+        this.jwtService = jwtService;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new ExpireAtTokenExpiry())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "jwt.verified-tokens");
+    }
+
+    /**
+     * Return the verified claims for a backend JWT, verifying and caching them on a miss.
+     *
+     * @param token the JWT string
+     * @return verified claims
+     * @throws io.jsonwebtoken.JwtException if the token is invalid or expired
+     */
+    public Claims verify(String token) {
+        String key = digest(token);
+        Claims claims = cache.getIfPresent(key);
+        if (claims != null) {
+            return claims;
+        }
+
+        claims = jwtService.parseToken(token);
+        cache.put(key, claims);
+        return claims;
+    }
+
+    /**
+     * Drop a token from the cache, e.g. after it has been revoked.
+     */
+    public void invalidate(String token) {
+        cache.invalidate(digest(token));
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256")
+                    .digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Expires each entry exactly at the "exp" claim of the token it was created from.
+     */
+    private static final class ExpireAtTokenExpiry implements Expiry<String, Claims> {
+
+        @Override
+        public long expireAfterCreate(String key, Claims claims, long currentTime) {
+            Date expiration = claims.getExpiration();
+            if (expiration == null) {
+                return 0L;
+            }
+            long remainingMs = expiration.getTime() - System.currentTimeMillis();
+            return Math.max(0L, Duration.ofMillis(remainingMs).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, claims, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
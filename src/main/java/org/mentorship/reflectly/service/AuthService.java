@@ -2,27 +2,27 @@ package org.mentorship.reflectly.service;
 
 import com.google.api.client.googleapis.auth.oauth2.GoogleIdToken;
 import com.google.api.client.googleapis.auth.oauth2.GoogleIdTokenVerifier;
-import com.google.api.client.googleapis.auth.oauth2.GoogleAuthorizationCodeTokenRequest;
-import com.google.api.client.googleapis.auth.oauth2.GoogleTokenResponse;
-import com.google.api.client.http.javanet.NetHttpTransport;
-import com.google.api.client.json.gson.GsonFactory;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import lombok.RequiredArgsConstructor;
 import org.mentorship.reflectly.dto.AuthLoginResponseDto;
 import org.mentorship.reflectly.dto.UserProfileRecord;
 import org.mentorship.reflectly.model.UserEntity;
 import org.mentorship.reflectly.security.JwtService;
-import org.springframework.beans.factory.annotation.Value;
+import org.mentorship.reflectly.security.TokenRevocationService;
+import org.mentorship.reflectly.security.UserPrincipalCache;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
 import java.security.GeneralSecurityException;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Orchestrates the Google token exchange flow:
  * 1. Verify the Google ID token
  * 2. Find or create the user in the database
- * 3. Issue a backend JWT
- * 4. Return the JWT + user profile
+ * 3. Issue a short-lived backend JWT and a refresh token
+ * 4. Return the tokens + user profile
  */
 @Service
 @RequiredArgsConstructor
@@ -31,35 +31,29 @@ public class AuthService {
     private final GoogleIdTokenVerifier googleIdTokenVerifier;
     private final UserService userService;
     private final JwtService jwtService;
-
-    @Value("${app.google.client-id}")
-    private String clientId;
-
-    @Value("${app.google.client-secret}")
-    private String clientSecret;
+    private final GoogleTokenExchanger googleTokenExchanger;
+    private final TokenRevocationService tokenRevocationService;
+    private final UserPrincipalCache userPrincipalCache;
 
     /**
      * Exchange a Google Auth Code for an ID Token, then verify and issue a backend JWT.
+     * The exchange runs on GoogleTokenExchanger's bounded pool, not the calling thread.
      *
      * @param authCode the raw Google authorization code from the frontend
-     * @return response containing backend JWT and user profile
-     * @throws IllegalArgumentException if the Google Auth code or ID token is invalid
+     * @return future response containing backend JWT and user profile; completes
+     *         exceptionally with IllegalArgumentException if the code or ID token is invalid
      */
-    public AuthLoginResponseDto loginWithGoogle(String authCode) {
+    public CompletableFuture<AuthLoginResponseDto> loginWithGoogle(String authCode) {
+        return googleTokenExchanger.exchange(authCode, tokenResponse -> {
+            GoogleIdToken idToken = verifyIdToken(tokenResponse.getIdToken());
+            UserEntity user = userService.findOrCreateUser(idToken.getPayload());
+            return buildAuthResponse(user);
+        });
+    }
+
+    private GoogleIdToken verifyIdToken(String idTokenString) {
         GoogleIdToken idToken;
         try {
-            // Exchange authorization code for tokens
-            GoogleTokenResponse tokenResponse = new GoogleAuthorizationCodeTokenRequest(
-                    new NetHttpTransport(), 
-                    GsonFactory.getDefaultInstance(),
-                    "https://oauth2.googleapis.com/token", 
-                    clientId, 
-                    clientSecret,
-                    authCode, 
-                    "postmessage") // Redirect URI used by react-oauth/google
-                    .execute();
-
-            String idTokenString = tokenResponse.getIdToken();
             idToken = googleIdTokenVerifier.verify(idTokenString);
         } catch (GeneralSecurityException | IOException e) {
             throw new IllegalArgumentException("Failed to verify Google Auth Code or ID token", e);
@@ -68,39 +62,86 @@ public class AuthService {
         if (idToken == null) {
             throw new IllegalArgumentException("Invalid Google ID token");
         }
-
-        GoogleIdToken.Payload payload = idToken.getPayload();
-        UserEntity user = userService.findOrCreateUser(payload);
-
-        return buildAuthResponse(user);
+        return idToken;
     }
 
     /**
      * Authenticate a user with username and password credentials.
+     * The password check runs on PasswordHasher's bounded pool, not the calling thread.
      */
-    public AuthLoginResponseDto loginWithCredentials(String username, String password) {
-        UserEntity user = userService.authenticateByCredentials(username, password);
-        return buildAuthResponse(user);
+    public CompletableFuture<AuthLoginResponseDto> loginWithCredentials(String username, String password) {
+        return userService.authenticateByCredentials(username, password).thenApply(this::buildAuthResponse);
     }
 
     /**
      * Register a new user with username, password, and optional display name.
+     * The password is hashed on PasswordHasher's bounded pool, not the calling thread.
      */
-    public AuthLoginResponseDto signup(String username, String password, String fullName) {
-        UserEntity user = userService.createUser(username, password, fullName);
+    public CompletableFuture<AuthLoginResponseDto> signup(String username, String password, String fullName) {
+        return userService.createUser(username, password, fullName).thenApply(this::buildAuthResponse);
+    }
+
+    /**
+     * Exchange a refresh token for a new access/refresh token pair. The presented refresh
+     * token is revoked, so each refresh token can be used only once.
+     *
+     * @throws IllegalArgumentException if the refresh token is invalid, expired or revoked
+     */
+    public AuthLoginResponseDto refresh(String refreshToken) {
+        Claims claims = parseOrNull(refreshToken);
+        if (claims == null || claims.getId() == null || !jwtService.isRefreshToken(claims)
+                || tokenRevocationService.isRevoked(claims)) {
+            throw new IllegalArgumentException("Invalid refresh token");
+        }
+
+        Long userId = Long.parseLong(claims.getSubject());
+        UserEntity user = userPrincipalCache.get(userId);
+        if (user == null) {
+            throw new IllegalArgumentException("Invalid refresh token");
+        }
+
+        // Spend the token atomically; of concurrent refreshes with it, only one gets here
+        if (!tokenRevocationService.claim(claims.getId(), userId, claims.getExpiration().toInstant())) {
+            throw new IllegalArgumentException("Invalid refresh token");
+        }
         return buildAuthResponse(user);
     }
 
+    /**
+     * Revoke the given access and refresh tokens. Tokens that are already invalid or
+     * expired are ignored, so logout is idempotent.
+     */
+    public void logout(String accessToken, String refreshToken) {
+        for (String token : new String[]{accessToken, refreshToken}) {
+            Claims claims = token != null ? parseOrNull(token) : null;
+            if (claims != null && claims.getId() != null) {
+                tokenRevocationService.revoke(
+                        claims.getId(), Long.parseLong(claims.getSubject()), claims.getExpiration().toInstant());
+            }
+        }
+    }
+
+    private Claims parseOrNull(String token) {
+        try {
+            return jwtService.parseToken(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
     private AuthLoginResponseDto buildAuthResponse(UserEntity user) {
         String backendToken = jwtService.generateToken(
                 user.getId().toString(),
                 user.getEmail()
         );
+        String refreshToken = jwtService.generateRefreshToken(user.getId().toString());
 
         UserProfileRecord profile = userService.toProfileRecord(user);
 
         return AuthLoginResponseDto.builder()
                 .token(backendToken)
+                .refreshToken(refreshToken)
+                .expiresIn(jwtService.getExpirationMs() / 1000)
                 .user(profile)
                 .build();
     }
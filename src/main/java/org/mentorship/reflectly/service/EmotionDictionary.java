@@ -0,0 +1,78 @@
+package org.mentorship.reflectly.service;
+
+import lombok.RequiredArgsConstructor;
+import org.mentorship.reflectly.exception.ValidationException;
+import org.mentorship.reflectly.model.EmotionEntity;
+import org.mentorship.reflectly.repository.EmotionRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory copy of the emotions table mapping each emotion name to its small integer ID.
+ * The table is a fixed vocabulary maintained by migrations, so it is loaded once at
+ * startup and never written by the application; entries may only use emotions it lists.
+ */
+@Component
+@RequiredArgsConstructor
+public class EmotionDictionary {
+
+    private final EmotionRepository emotionRepository;
+    private volatile Map<String, Short> ids = Map.of();
+    private volatile List<String> names = List.of();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        List<EmotionEntity> emotions = emotionRepository.findAll();
+        emotions.sort(Comparator.comparing(EmotionEntity::getId));
+        ids = emotions.stream().collect(Collectors.toUnmodifiableMap(EmotionEntity::getName, EmotionEntity::getId));
+        names = emotions.stream().map(EmotionEntity::getName).toList();
+    }
+
+    /**
+     * Every emotion entries may use, in ID order.
+     */
+    public List<String> names() {
+        return names;
+    }
+
+    /**
+     * Look up an emotion's ID.
+     */
+    public Optional<Short> findId(String name) {
+        return Optional.ofNullable(ids.get(name));
+    }
+
+    /**
+     * Compute the mask for an entry's emotions.
+     * Emotions whose ID has no mask bit are still recorded in entry_emotions and are
+     * matched by the join-based filter instead.
+     *
+     * @throws ValidationException if an emotion is not in the vocabulary
+     */
+    public long mask(Collection<String> names) {
+        long mask = 0;
+        for (String name : names) {
+            Short id = ids.get(name);
+            if (id == null) {
+                throw new ValidationException("Unknown emotion: " + name);
+            }
+            mask |= bit(id);
+        }
+        return mask;
+    }
+
+    /**
+     * The mask bit for an emotion ID, or 0 if the ID is past the mask width.
+     */
+    public static long bit(short id) {
+        return id < EmotionEntity.MASK_BITS ? 1L << id : 0L;
+    }
+}
@@ -0,0 +1,218 @@
+package org.mentorship.reflectly.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.mentorship.reflectly.converter.EntryConverter;
+import org.mentorship.reflectly.dto.BatchOperationType;
+import org.mentorship.reflectly.dto.EntryBatchOperationDto;
+import org.mentorship.reflectly.dto.EntryBatchResultDto;
+import org.mentorship.reflectly.dto.EntryRequestDto;
+import org.mentorship.reflectly.exception.ValidationException;
+import org.mentorship.reflectly.model.EntryEntity;
+import org.mentorship.reflectly.model.EntryTombstoneEntity;
+import org.mentorship.reflectly.repository.EntryRepository;
+import org.mentorship.reflectly.repository.EntryTombstoneRepository;
+import org.mentorship.reflectly.util.UuidV7;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Applies an ordered list of entry creates, updates and deletes in one transaction, for
+ * clients replaying writes queued while offline.
+ * Every entry of the user's that the batch refers to is loaded and locked with one query
+ * up front, and all writes are flushed together at the end so Hibernate sends them as
+ * JDBC batches. Operations that cannot be applied (invalid, missing, stale or
+ * conflicting) are detected before the flush, then reported and skipped without
+ * affecting the others; because the rows are locked, no concurrent change can make the
+ * flush itself fail.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class EntryBatchService {
+
+    private static final String STALE_MESSAGE = "Entry has been modified since it was read";
+
+    private final EntryRepository entryRepository;
+    private final EntryTombstoneRepository entryTombstoneRepository;
+    private final EntryConverter entryConverter;
+    private final EmotionDictionary emotionDictionary;
+    private final EntrySearchIndex entrySearchIndex;
+    private final Validator validator;
+    private final EntityManager entityManager;
+
+    /**
+     * @return one result per operation, in request order
+     */
+    public List<EntryBatchResultDto> applyBatch(Long userId, List<EntryBatchOperationDto> operations) {
+        Set<UUID> referencedIds = operations.stream()
+                .map(operation -> parseId(operation.getId()))
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<UUID, EntryEntity> entries = new HashMap<>();
+        Set<UUID> unavailableIds = Set.of();
+        if (!referencedIds.isEmpty()) {
+            entryRepository.findAllForUpdate(referencedIds, userId).forEach(entry -> entries.put(entry.getId(), entry));
+            Set<UUID> createIds = operations.stream()
+                    .filter(operation -> operation.getType() == BatchOperationType.CREATE)
+                    .map(operation -> parseId(operation.getId()))
+                    .filter(id -> id != null && !entries.containsKey(id))
+                    .collect(Collectors.toSet());
+            if (!createIds.isEmpty()) {
+                unavailableIds = new HashSet<>(entryRepository.findIdsHeldByOthers(createIds, userId));
+            }
+        }
+        Set<UUID> deletedIds = new HashSet<>();
+        Set<UUID> clientCreatedIds = new HashSet<>();
+        Instant now = Instant.now();
+
+        List<EntryBatchResultDto> results = new ArrayList<>(operations.size());
+        List<EntryEntity> written = new ArrayList<>();
+        for (EntryBatchOperationDto operation : operations) {
+            EntryBatchResultDto.EntryBatchResultDtoBuilder result = EntryBatchResultDto.builder()
+                    .type(operation.getType())
+                    .id(operation.getId());
+            String error = operation.getType() == BatchOperationType.DELETE
+                    ? null
+                    : validateEntry(operation.getEntry());
+            if (error != null) {
+                results.add(result.status(HttpStatus.BAD_REQUEST.value()).message(error).build());
+                continue;
+            }
+
+            UUID clientId = parseId(operation.getId());
+            // Only the user's own entries are loaded, so others' are indistinguishable from missing ones
+            EntryEntity existing = clientId != null ? entries.get(clientId) : null;
+            switch (operation.getType()) {
+                case CREATE -> {
+                    UUID id = operation.getId() != null ? clientId : UuidV7.generate();
+                    if (id == null) {
+                        results.add(result.status(HttpStatus.BAD_REQUEST.value()).message("ID must be a UUID").build());
+                    } else if (unavailableIds.contains(id)) {
+                        // Held by another user; say no more than that this ID cannot be used
+                        results.add(result.status(HttpStatus.BAD_REQUEST.value())
+                                .message("ID is not available; use a new UUID").build());
+                    } else if (existing != null || deletedIds.contains(id)) {
+                        results.add(result.status(HttpStatus.CONFLICT.value()).message("Entry already exists").build());
+                    } else {
+                        EntryEntity entry = entryConverter.toEntity(operation.getEntry(), id, userId);
+                        entry.setEmotionMask(emotionDictionary.mask(entry.getEmotions()));
+                        // persist rather than save: the ID is assigned, so save would merge and SELECT first
+                        entityManager.persist(entry);
+                        entries.put(id, entry);
+                        written.add(entry);
+                        if (operation.getId() != null) {
+                            clientCreatedIds.add(id);
+                        }
+                        results.add(result.id(id.toString()).status(HttpStatus.CREATED.value()).build());
+                    }
+                }
+                case UPDATE -> {
+                    if (existing == null) {
+                        results.add(result.status(HttpStatus.NOT_FOUND.value()).message("Entry not found").build());
+                    } else if (isStale(operation, existing)) {
+                        results.add(result.status(HttpStatus.PRECONDITION_FAILED.value())
+                                .message(STALE_MESSAGE).build());
+                    } else {
+                        entryConverter.updateEntityFromDto(operation.getEntry(), existing);
+                        existing.setEmotionMask(emotionDictionary.mask(existing.getEmotions()));
+                        written.add(existing);
+                        results.add(result.id(existing.getId().toString()).status(HttpStatus.OK.value()).build());
+                    }
+                }
+                case DELETE -> {
+                    if (existing == null) {
+                        results.add(result.status(HttpStatus.NOT_FOUND.value()).message("Entry not found").build());
+                    } else if (isStale(operation, existing)) {
+                        results.add(result.status(HttpStatus.PRECONDITION_FAILED.value())
+                                .message(STALE_MESSAGE).build());
+                    } else {
+                        entries.remove(existing.getId());
+                        deletedIds.add(existing.getId());
+                        entryRepository.delete(existing);
+                        entryTombstoneRepository.save(new EntryTombstoneEntity(existing.getId(), userId, now));
+                        entrySearchIndex.remove(existing.getId());
+                        results.add(result.status(HttpStatus.NO_CONTENT.value()).build());
+                    }
+                }
+            }
+        }
+
+        // An entry re-created under a client ID must not also be reported as deleted
+        clientCreatedIds.removeAll(deletedIds);
+        if (!clientCreatedIds.isEmpty()) {
+            entryTombstoneRepository.deleteAllByIdInBatch(clientCreatedIds);
+        }
+
+        // One flush for the whole batch; inserts, updates and deletes each go out as JDBC batches
+        entityManager.flush();
+        written.stream()
+                .filter(entry -> !deletedIds.contains(entry.getId()))
+                .distinct()
+                .forEach(entrySearchIndex::index);
+
+        // Results carry the final state of each entry, including audit timestamps set on flush
+        for (EntryBatchResultDto result : results) {
+            // Applied creates and updates carry the canonical ID; other results may echo an invalid one
+            if (result.getStatus() == HttpStatus.CREATED.value() || result.getStatus() == HttpStatus.OK.value()) {
+                result.setEntry(entryConverter.toResponseDto(entries.get(UUID.fromString(result.getId()))));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Whether the operation names a version and the entry is no longer at it. Entries
+     * created earlier in the batch have no version yet, so any named version is stale.
+     */
+    private static boolean isStale(EntryBatchOperationDto operation, EntryEntity existing) {
+        return operation.getVersion() != null && !operation.getVersion().equals(existing.getVersion());
+    }
+
+    private String validateEntry(EntryRequestDto entry) {
+        if (entry == null) {
+            return "Entry is required";
+        }
+        Set<ConstraintViolation<EntryRequestDto>> violations = validator.validate(entry);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+        }
+        try {
+            emotionDictionary.mask(entry.getEmotions());
+            return null;
+        } catch (ValidationException e) {
+            return e.getMessage();
+        }
+    }
+
+    /**
+     * @return the ID, or null if absent or not a UUID
+     */
+    private static UUID parseId(String id) {
+        if (id == null) {
+            return null;
+        }
+        try {
+            return UUID.fromString(id);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package org.mentorship.reflectly.service;
+
+import org.mentorship.reflectly.converter.EntryConverter;
+import org.mentorship.reflectly.dto.ChangeToken;
+import org.mentorship.reflectly.dto.EntryChangesDto;
+import org.mentorship.reflectly.exception.GoneException;
+import org.mentorship.reflectly.model.EntryEntity;
+import org.mentorship.reflectly.model.EntryTombstoneEntity;
+import org.mentorship.reflectly.repository.EntryRepository;
+import org.mentorship.reflectly.repository.EntryTombstoneRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Delta sync over a user's entries: everything created, updated or deleted after a change
+ * token, read from the (user_id, last_modified_date, id) index and the tombstone table.
+ * Modification times are assigned before commit, so a slow transaction can commit a change
+ * older than one already delivered. Tokens handed out when the client catches up therefore
+ * never point later than the overlap window before now, and the next sync re-reads that
+ * window; pages in between continue exactly where the previous one stopped.
+ */
+@Service
+public class EntryChangeService {
+
+    private static final int MAX_CHANGES = 500;
+    private static final Comparator<Change> CHANGE_ORDER = Comparator.comparing(Change::changedAt)
+            // java.util.UUID compares its halves as signed longs; the database compares bytes
+            .thenComparing(change -> change.id().toString());
+
+    private final EntryRepository entryRepository;
+    private final EntryTombstoneRepository entryTombstoneRepository;
+    private final EntryConverter entryConverter;
+    private final Duration overlap;
+    private final Duration tombstoneRetention;
+
+    public EntryChangeService(
+            EntryRepository entryRepository,
+            EntryTombstoneRepository entryTombstoneRepository,
+            EntryConverter entryConverter,
+            @Value("${app.sync.overlap-ms:30000}") long overlapMs,
+            @Value("${app.sync.tombstone-retention-ms:2592000000}") long tombstoneRetentionMs) {
+        this.entryRepository = entryRepository;
+        this.entryTombstoneRepository = entryTombstoneRepository;
+        this.entryConverter = entryConverter;
+        this.overlap = Duration.ofMillis(overlapMs);
+        this.tombstoneRetention = Duration.ofMillis(tombstoneRetentionMs);
+    }
+
+    /**
+     * Get the user's changes after a token, oldest first.
+     *
+     * @param since token from a previous call, or null to start from the beginning
+     * @param size  maximum number of changes to return
+     * @throws GoneException if tombstones the client may not have seen were already purged
+     */
+    @Transactional(readOnly = true)
+    public EntryChangesDto getChanges(Long userId, ChangeToken since, int size) {
+        Instant now = Instant.now();
+        if (since == null) {
+            since = ChangeToken.initial(now);
+        } else if (since.syncedAt().minus(overlap).isBefore(now.minus(tombstoneRetention))) {
+            throw new GoneException("Change token has expired; sync again without a token");
+        }
+
+        int limit = Math.min(Math.max(1, size), MAX_CHANGES);
+        List<EntryEntity> entries = entryRepository.findChangesAfter(
+                userId, since.changedAt(), since.id(), Limit.of(limit + 1));
+        List<EntryTombstoneEntity> tombstones = entryTombstoneRepository.findChangesAfter(
+                userId, since.changedAt(), since.id(), Limit.of(limit + 1));
+
+        // Merge both feeds in (change time, ID) order and keep the first page
+        List<Change> changes = new ArrayList<>(entries.size() + tombstones.size());
+        entries.forEach(entry -> changes.add(new Change(entry.getLastModifiedDate(), entry.getId(), entry)));
+        tombstones.forEach(tombstone -> changes.add(new Change(tombstone.getDeletedDate(), tombstone.getEntryId(), null)));
+        changes.sort(CHANGE_ORDER);
+        boolean hasMore = changes.size() > limit;
+        List<Change> page = hasMore ? changes.subList(0, limit) : changes;
+
+        List<EntryEntity> changed = new ArrayList<>();
+        List<String> deleted = new ArrayList<>();
+        page.forEach(change -> {
+            if (change.entry() != null) {
+                changed.add(change.entry());
+            } else {
+                deleted.add(change.id().toString());
+            }
+        });
+
+        Change last = page.isEmpty() ? null : page.get(page.size() - 1);
+        Instant changedAt = last != null ? last.changedAt() : since.changedAt();
+        UUID id = last != null ? last.id() : since.id();
+        ChangeToken next;
+        if (hasMore) {
+            next = new ChangeToken(changedAt, id, since.syncedAt());
+        } else {
+            // Caught up: stop short of the overlap window so late commits are picked up next time
+            Instant horizon = now.minus(overlap);
+            next = changedAt.isAfter(horizon) ? new ChangeToken(horizon, ChangeToken.NO_ID, now) : new ChangeToken(changedAt, id, now);
+        }
+
+        return EntryChangesDto.builder()
+                .changed(entryConverter.toResponseDtoList(changed))
+                .deleted(deleted)
+                .nextToken(next.encode())
+                .hasMore(hasMore)
+                .build();
+    }
+
+    /**
+     * Drop tombstones older than the retention period; clients that last synced before
+     * then get a 410 and resync from scratch.
+     */
+    @Scheduled(fixedDelayString = "${app.sync.tombstone-purge-interval-ms:3600000}")
+    @Transactional
+    public void purgeTombstones() {
+        entryTombstoneRepository.deleteOlderThan(Instant.now().minus(tombstoneRetention));
+    }
+
+    /**
+     * An entry change or, when entry is null, a deletion.
+     */
+    private record Change(Instant changedAt, UUID id, EntryEntity entry) {
+    }
+}
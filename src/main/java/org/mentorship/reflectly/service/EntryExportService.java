@@ -0,0 +1,192 @@
+package org.mentorship.reflectly.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.mentorship.reflectly.dto.EntryResponseDto;
+import org.mentorship.reflectly.dto.ExportFormat;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Array;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Streams a user's entries to an output stream without loading them all.
+ * Rows are read in keyset batches on (created_date, id), with emotions aggregated in the
+ * same query. Each batch is one short query that returns its connection to the pool
+ * before the batch is written, so a slow download never holds a connection while it
+ * waits on the client. No entities are created, so there is nothing for a persistence
+ * context to accumulate and memory is bounded by the batch size regardless of how many
+ * entries a user has. Batches are not one snapshot: entries changed mid-export show
+ * the state their batch read.
+ */
+@Service
+public class EntryExportService {
+
+    private static final String EXPORT_COLUMNS = """
+            SELECT e.id, e.user_id, e.title, e.reflection, e.created_date, e.last_modified_date,
+                   ARRAY(SELECT ee.emotion FROM entry_emotions ee WHERE ee.entry_id = e.id) AS emotions
+            FROM entries e
+            """;
+    private static final String FIRST_BATCH_QUERY = EXPORT_COLUMNS + """
+            WHERE e.user_id = ?
+            ORDER BY e.created_date DESC, e.id DESC
+            LIMIT ?
+            """;
+    private static final String NEXT_BATCH_QUERY = EXPORT_COLUMNS + """
+            WHERE e.user_id = ? AND (e.created_date, e.id) < (?, ?)
+            ORDER BY e.created_date DESC, e.id DESC
+            LIMIT ?
+            """;
+    // Rows from before auditing may lack a creation time; DESC puts them first
+    private static final String NEXT_BATCH_AFTER_UNDATED_QUERY = EXPORT_COLUMNS + """
+            WHERE e.user_id = ? AND (e.created_date IS NOT NULL OR e.id < ?)
+            ORDER BY e.created_date DESC, e.id DESC
+            LIMIT ?
+            """;
+    private static final String CSV_HEADER = "id,title,reflection,emotions,createdAt,updatedAt";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+    private final ObjectMapper objectMapper;
+    // Buffer lines and let the generator flush in blocks instead of once per entry
+    private final ObjectWriter lineWriter;
+
+    public EntryExportService(
+            DataSource dataSource,
+            ObjectMapper objectMapper,
+            @Value("${app.export.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.batchSize = batchSize;
+        this.objectMapper = objectMapper;
+        this.lineWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    /**
+     * Write all of the user's entries, newest first. The stream is flushed but not closed.
+     */
+    public void export(Long userId, ExportFormat format, OutputStream outputStream) throws IOException {
+        switch (format) {
+            case NDJSON -> exportNdjson(userId, outputStream);
+            case CSV -> exportCsv(userId, outputStream);
+        }
+    }
+
+    private void exportNdjson(Long userId, OutputStream outputStream) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+            // The caller owns the stream, e.g. to finish a wrapping gzip stream
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            streamEntries(userId, entry -> {
+                lineWriter.writeValue(generator, entry);
+                generator.writeRaw('\n');
+            });
+        }
+    }
+
+    private void exportCsv(Long userId, OutputStream outputStream) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        writer.write("\r\n");
+        streamEntries(userId, entry -> {
+            writer.write(csvField(entry.getId()));
+            writer.write(',');
+            writer.write(csvField(entry.getTitle()));
+            writer.write(',');
+            writer.write(csvField(entry.getReflection()));
+            writer.write(',');
+            writer.write(csvField(String.join(";", entry.getEmotions())));
+            writer.write(',');
+            writer.write(csvField(entry.getCreatedAt() != null ? entry.getCreatedAt().toString() : ""));
+            writer.write(',');
+            writer.write(csvField(entry.getUpdatedAt() != null ? entry.getUpdatedAt().toString() : ""));
+            writer.write("\r\n");
+        });
+        writer.flush();
+    }
+
+    private void streamEntries(Long userId, EntryConsumer consumer) throws IOException {
+        List<EntryResponseDto> batch = jdbcTemplate.query(FIRST_BATCH_QUERY, this::toDto, userId, batchSize);
+        while (true) {
+            // The connection is back in the pool here; a client that went away stops the loop
+            for (EntryResponseDto entry : batch) {
+                consumer.accept(entry);
+            }
+            if (batch.size() < batchSize) {
+                return;
+            }
+            EntryResponseDto last = batch.get(batch.size() - 1);
+            UUID lastId = UUID.fromString(last.getId());
+            batch = last.getCreatedAt() != null
+                    ? jdbcTemplate.query(NEXT_BATCH_QUERY, this::toDto, userId,
+                            Timestamp.from(last.getCreatedAt()), lastId, batchSize)
+                    : jdbcTemplate.query(NEXT_BATCH_AFTER_UNDATED_QUERY, this::toDto, userId, lastId, batchSize);
+        }
+    }
+
+    private EntryResponseDto toDto(ResultSet rs, int rowNum) throws SQLException {
+        return EntryResponseDto.builder()
+                .id(rs.getString("id"))
+                .userId(rs.getString("user_id"))
+                .title(rs.getString("title"))
+                .reflection(rs.getString("reflection"))
+                .emotions(toList(rs.getArray("emotions")))
+                .createdAt(toInstant(rs.getTimestamp("created_date")))
+                .updatedAt(toInstant(rs.getTimestamp("last_modified_date")))
+                .build();
+    }
+
+    private static List<String> toList(Array array) throws SQLException {
+        if (array == null) {
+            return List.of();
+        }
+        try {
+            return Arrays.asList((String[]) array.getArray());
+        } finally {
+            array.free();
+        }
+    }
+
+    private static Instant toInstant(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toInstant() : null;
+    }
+
+    /**
+     * Quote a CSV field when needed, and neutralise leading characters that spreadsheet
+     * applications would evaluate as a formula.
+     */
+    private static String csvField(String value) {
+        if (value == null || value.isEmpty()) {
+            return "";
+        }
+        char first = value.charAt(0);
+        if (first == '=' || first == '+' || first == '-' || first == '@') {
+            value = "'" + value;
+        }
+        if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+        return value;
+    }
+
+    @FunctionalInterface
+    private interface EntryConsumer {
+        void accept(EntryResponseDto entry) throws IOException;
+    }
+}
@@ -0,0 +1,254 @@
+package org.mentorship.reflectly.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.mentorship.reflectly.dto.EntryImportDto;
+import org.mentorship.reflectly.dto.EntryImportReportDto;
+import org.mentorship.reflectly.exception.ValidationException;
+import org.mentorship.reflectly.repository.EntryRepository;
+import org.mentorship.reflectly.util.UuidV7;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk import of entries from a JSON array or NDJSON stream.
+ * Records are parsed and validated one at a time, so the payload is never held in memory,
+ * and valid ones are written in chunks: each chunk is one transaction with one JDBC batch
+ * for entries and one for their emotions (the driver rewrites each batch into multi-row
+ * INSERTs). A failed chunk does not undo earlier ones; every rejected record is reported
+ * by its position in the input.
+ */
+@Slf4j
+@Service
+public class EntryImportService {
+
+    private static final String INSERT_ENTRY = """
+            INSERT INTO entries (id, user_id, title, reflection, emotion_mask,
+                                 created_date, created_by, last_modified_date, last_modified_by)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+    private static final String INSERT_EMOTION = "INSERT INTO entry_emotions (entry_id, emotion) VALUES (?, ?)";
+    private static final int MAX_REPORTED_ERRORS = 100;
+
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final EmotionDictionary emotionDictionary;
+    private final EntrySearchIndex entrySearchIndex;
+    private final EntryRepository entryRepository;
+    private final AuditorAware<String> auditorAware;
+    private final int chunkSize;
+    private final int maxEntries;
+
+    public EntryImportService(
+            ObjectMapper objectMapper,
+            Validator validator,
+            DataSource dataSource,
+            PlatformTransactionManager transactionManager,
+            EmotionDictionary emotionDictionary,
+            EntrySearchIndex entrySearchIndex,
+            EntryRepository entryRepository,
+            AuditorAware<String> auditorAware,
+            @Value("${app.import.chunk-size:500}") int chunkSize,
+            @Value("${app.import.max-entries:50000}") int maxEntries) {
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.emotionDictionary = emotionDictionary;
+        this.entrySearchIndex = entrySearchIndex;
+        this.entryRepository = entryRepository;
+        this.auditorAware = auditorAware;
+        this.chunkSize = chunkSize;
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Import entries for a user, reporting progress after every chunk.
+     *
+     * @param progress receives a report after each written chunk and the final report
+     * @return the final report
+     * @throws ValidationException if the input is empty or not a JSON array or object stream;
+     *                             thrown before anything is written or reported
+     */
+    public EntryImportReportDto importEntries(Long userId, InputStream inputStream,
+                                              Consumer<EntryImportReportDto> progress) throws IOException {
+        Progress state = new Progress();
+        String auditor = auditorAware.getCurrentAuditor().orElse(null);
+        List<PendingEntry> chunk = new ArrayList<>(chunkSize);
+
+        try (JsonParser parser = objectMapper.getFactory().createParser(inputStream)) {
+            JsonToken first;
+            try {
+                first = parser.nextToken();
+            } catch (JsonProcessingException e) {
+                first = null;
+            }
+            boolean array = first == JsonToken.START_ARRAY;
+            if (!array && first != JsonToken.START_OBJECT) {
+                throw new ValidationException("Expected a JSON array of entries or one JSON entry per line");
+            }
+
+            try {
+                JsonToken token = array ? parser.nextToken() : first;
+                while (token != null && token != JsonToken.END_ARRAY) {
+                    if (state.processed == maxEntries) {
+                        state.abort("Import is limited to " + maxEntries + " entries; the rest was not read");
+                        break;
+                    }
+                    JsonNode node = parser.readValueAsTree();
+                    int index = state.processed++;
+                    PendingEntry entry = toPendingEntry(index, node, state);
+                    if (entry != null) {
+                        chunk.add(entry);
+                        if (chunk.size() == chunkSize) {
+                            writeChunk(userId, auditor, chunk, state);
+                            chunk.clear();
+                            progress.accept(state.report(false));
+                        }
+                    }
+                    token = parser.nextToken();
+                }
+            } catch (JsonProcessingException e) {
+                state.abort("Malformed JSON at record " + state.processed + ": " + e.getOriginalMessage());
+            }
+        }
+
+        if (!chunk.isEmpty()) {
+            writeChunk(userId, auditor, chunk, state);
+        }
+        EntryImportReportDto report = state.report(true);
+        log.info("Imported {} of {} entries for user {} ({} failed)",
+                report.getImported(), report.getProcessed(), userId, report.getFailed());
+        progress.accept(report);
+        return report;
+    }
+
+    private PendingEntry toPendingEntry(int index, JsonNode node, Progress state) {
+        EntryImportDto dto;
+        try {
+            dto = objectMapper.treeToValue(node, EntryImportDto.class);
+        } catch (JsonMappingException e) {
+            String field = e.getPath().isEmpty() ? null : e.getPath().get(0).getFieldName();
+            state.reject(index, field != null ? "Invalid value for " + field : "Entry must be a JSON object");
+            return null;
+        } catch (JsonProcessingException e) {
+            state.reject(index, "Invalid entry: " + e.getOriginalMessage());
+            return null;
+        }
+
+        Set<ConstraintViolation<EntryImportDto>> violations = validator.validate(dto);
+        if (!violations.isEmpty()) {
+            state.reject(index, violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+            return null;
+        }
+
+        // entry_emotions is keyed by (entry_id, emotion), so drop repeats
+        Set<String> emotions = new LinkedHashSet<>(dto.getEmotions());
+        long emotionMask;
+        try {
+            emotionMask = emotionDictionary.mask(emotions);
+        } catch (ValidationException e) {
+            state.reject(index, e.getMessage());
+            return null;
+        }
+        return new PendingEntry(index, UuidV7.generate(), dto, emotions, emotionMask);
+    }
+
+    private void writeChunk(Long userId, String auditor, List<PendingEntry> chunk, Progress state) {
+        Timestamp now = Timestamp.from(Instant.now());
+        List<Object[]> emotionRows = new ArrayList<>();
+        for (PendingEntry entry : chunk) {
+            entry.emotions().forEach(emotion -> emotionRows.add(new Object[]{entry.id(), emotion}));
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.batchUpdate(INSERT_ENTRY, chunk, chunk.size(), (ps, entry) -> {
+                    EntryImportDto dto = entry.dto();
+                    ps.setObject(1, entry.id());
+                    ps.setLong(2, userId);
+                    ps.setString(3, dto.getTitle());
+                    ps.setString(4, dto.getReflection());
+                    ps.setLong(5, entry.emotionMask());
+                    ps.setTimestamp(6, dto.getCreatedAt() != null ? Timestamp.from(dto.getCreatedAt()) : now);
+                    ps.setString(7, auditor);
+                    ps.setTimestamp(8, now);
+                    ps.setString(9, auditor);
+                });
+                jdbcTemplate.batchUpdate(INSERT_EMOTION, emotionRows);
+
+                if (!entrySearchIndex.isMaintainedByDatabase()) {
+                    entryRepository.findAllById(chunk.stream().map(PendingEntry::id).toList())
+                            .forEach(entrySearchIndex::index);
+                }
+            });
+            state.imported += chunk.size();
+        } catch (DataAccessException e) {
+            log.warn("Failed to write import chunk for user {}", userId, e);
+            chunk.forEach(entry -> state.reject(entry.index(), "Could not be saved"));
+        }
+    }
+
+    private record PendingEntry(int index, UUID id, EntryImportDto dto, Set<String> emotions, long emotionMask) {
+    }
+
+    private static final class Progress {
+        private int processed;
+        private int imported;
+        private int failed;
+        private boolean aborted;
+        private final List<EntryImportReportDto.RecordError> errors = new ArrayList<>();
+
+        void reject(int index, String message) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new EntryImportReportDto.RecordError(index, message));
+            }
+        }
+
+        void abort(String message) {
+            aborted = true;
+            errors.add(new EntryImportReportDto.RecordError(processed, message));
+        }
+
+        EntryImportReportDto report(boolean last) {
+            return EntryImportReportDto.builder()
+                    .processed(processed)
+                    .imported(imported)
+                    .failed(failed)
+                    .complete(last ? !aborted : null)
+                    .errors(last ? List.copyOf(errors) : null)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package org.mentorship.reflectly.service;
+
+import org.mentorship.reflectly.dto.EntrySearchHit;
+import org.mentorship.reflectly.model.EntryEntity;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.UUID;
+
+/**
+ * Full-text index over entry titles and reflections. The implementation is chosen with
+ * "app.search.engine": "postgres" (default) searches a generated tsvector column,
+ * "memory" keeps an in-process inverted index for databases without full-text support.
+ * EntryService reports every write so implementations can update incrementally.
+ */
+public interface EntrySearchIndex {
+
+    /**
+     * Find the user's entries matching every term of the query, best match first.
+     */
+    Page<EntrySearchHit> search(Long userId, String query, Pageable pageable);
+
+    /**
+     * Add or refresh an entry after it was created or updated.
+     */
+    default void index(EntryEntity entry) {
+    }
+
+    /**
+     * Drop a deleted entry.
+     */
+    default void remove(UUID entryId) {
+    }
+
+    /**
+     * Whether the database keeps the index current on its own, so bulk writes that
+     * bypass EntryService need not report each entry.
+     */
+    default boolean isMaintainedByDatabase() {
+        return false;
+    }
+}
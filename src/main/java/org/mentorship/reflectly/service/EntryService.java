@@ -3,22 +3,50 @@ package org.mentorship.reflectly.service;
 import lombok.RequiredArgsConstructor;
 
 import org.mentorship.reflectly.converter.EntryConverter;
+import org.mentorship.reflectly.dto.CursorPageDto;
+import org.mentorship.reflectly.dto.EmotionMatch;
+import org.mentorship.reflectly.dto.EntryCursor;
+import org.mentorship.reflectly.dto.EntryPatchDto;
 import org.mentorship.reflectly.dto.EntryRequestDto;
 import org.mentorship.reflectly.dto.EntryResponseDto;
+import org.mentorship.reflectly.dto.EntrySearchHit;
+import org.mentorship.reflectly.dto.EntrySearchResultDto;
 import org.mentorship.reflectly.exception.NotFoundException;
+import org.mentorship.reflectly.exception.PreconditionFailedException;
 import org.mentorship.reflectly.exception.ValidationException;
 import org.mentorship.reflectly.model.EntryEntity;
 import org.mentorship.reflectly.repository.EntryRepository;
+import org.mentorship.reflectly.repository.EntryRow;
+import org.mentorship.reflectly.repository.EntrySpecifications;
+import org.mentorship.reflectly.util.UuidV7;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.ETag;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.DigestUtils;
 import org.springframework.validation.annotation.Validated;
 
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
 import java.time.format.DateTimeParseException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 @Service
@@ -28,83 +56,266 @@ import java.util.UUID;
 public class EntryService {
 
     private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_SEARCH_QUERY_LENGTH = 200;
 
     private final EntryRepository entryRepository;
     private final EntryConverter entryConverter;
+    private final EmotionDictionary emotionDictionary;
+    private final EntrySearchIndex entrySearchIndex;
 
+    /**
+     * Get a page of the user's entries, optionally narrowed by creation date and emotions.
+     * All criteria are combined into one query on the entries table.
+     *
+     * @param startDate first day or instant to include: an ISO date, a local date-time in
+     *                  the given timezone, or a date-time with offset; null for no lower bound
+     * @param endDate   last day (whole day included) or instant (inclusive) to include,
+     *                  in the same formats; null for no upper bound
+     * @param timezone  IANA zone used to interpret dates and local date-times
+     * @param emotions  emotions to filter by; null or empty for no emotion filter
+     * @param match     whether entries need any or all of the emotions
+     * @param pageable  page, size and an optional createdDate sort direction
+     */
     @Transactional(readOnly = true)
-    public Page<EntryResponseDto> getAllEntries(String userId, Pageable pageable) {
+    public Page<EntryResponseDto> getEntries(Long userId, String startDate, String endDate, String timezone,
+                                             Collection<String> emotions, EmotionMatch match, Pageable pageable) {
         Pageable validatedPageable = validateAndCreatePageable(pageable);
-        Page<EntryEntity> entryPage = entryRepository.findByUserIdOrderByCreatedDateDesc(userId, validatedPageable);
-        return entryConverter.toResponseDtoPage(entryPage);
+        ZoneId zone = parseZone(timezone);
+        Specification<EntryEntity> specification = EntrySpecifications.belongsTo(userId);
+
+        DateBound start = startDate != null ? parseDateBound(startDate, zone) : null;
+        DateBound end = endDate != null ? parseDateBound(endDate, zone) : null;
+        // A date-only end includes that whole day in the user's timezone, up to the next midnight
+        Instant endBefore = end != null && end.dateOnly() ? end.date().plusDays(1).atStartOfDay(zone).toInstant() : null;
+        // Business rule: start date must be before or equal to end date
+        if (start != null && end != null
+                && (endBefore != null ? !start.instant().isBefore(endBefore) : start.instant().isAfter(end.instant()))) {
+            throw new ValidationException("startDate must be before or equal to endDate");
+        }
+        if (start != null) {
+            specification = specification.and(EntrySpecifications.createdFrom(start.instant()));
+        }
+        if (end != null) {
+            specification = specification.and(endBefore != null
+                    ? EntrySpecifications.createdBefore(endBefore)
+                    : EntrySpecifications.createdAtOrBefore(end.instant()));
+        }
+
+        if (emotions != null && !emotions.isEmpty()) {
+            Specification<EntryEntity> emotionSpecification = emotionSpecification(emotions, match);
+            if (emotionSpecification == null) {
+                return Page.empty(validatedPageable);
+            }
+            specification = specification.and(emotionSpecification);
+        }
+
+        Pageable sortedPageable = PageRequest.of(validatedPageable.getPageNumber(), validatedPageable.getPageSize(),
+                createdDateSort(validatedPageable.getSort()));
+        Page<EntryRow> rows = entryRepository.findRows(specification, sortedPageable);
+        return rows.map(entryConverter::toResponseDto);
     }
 
+    /**
+     * Get one keyset page of the user's entries, newest first.
+     *
+     * @param cursor       position after which to start, or null for the first page
+     * @param size         requested page size (clamped like offset pages)
+     * @param includeTotal whether to run the count query
+     */
     @Transactional(readOnly = true)
-    public Page<EntryResponseDto> getEntriesByDateRange(String userId, String startDate, String endDate, Pageable pageable) {
-        try {
-            LocalDateTime start = parseDateTime(startDate);
-            LocalDateTime end = parseDateTime(endDate);
-            
-            // Business rule: start date must be before or equal to end date
-            if (start.isAfter(end)) {
-                throw new ValidationException("startDate must be before or equal to endDate");
-            }
-            
-            Pageable validatedPageable = validateAndCreatePageable(pageable);
-            Page<EntryEntity> entryPage = entryRepository.findByUserIdAndCreatedAtBetween(userId, start, end, validatedPageable);
-            return entryConverter.toResponseDtoPage(entryPage);
-        } catch (DateTimeParseException e) {
-            throw new ValidationException("Invalid date format. Use ISO format (yyyy-MM-ddTHH:mm:ss)");
+    public CursorPageDto<EntryResponseDto> getEntriesPage(Long userId, EntryCursor cursor, int size, boolean includeTotal) {
+        int pageSize = validateAndCreatePageable(PageRequest.ofSize(Math.max(1, size))).getPageSize();
+        // Fetch one extra row to learn whether another page exists without counting
+        Limit limit = Limit.of(pageSize + 1);
+        List<EntryRow> rows = cursor == null
+                ? entryRepository.findFirstPageByUserId(userId, limit)
+                : entryRepository.findPageByUserIdAfter(userId, cursor.createdDate(), cursor.id(), limit);
+
+        String nextCursor = null;
+        if (rows.size() > pageSize) {
+            rows = rows.subList(0, pageSize);
+            EntryRow last = rows.get(pageSize - 1);
+            nextCursor = new EntryCursor(last.createdDate(), last.id()).encode();
         }
+
+        Long total = includeTotal ? entryRepository.countByUserId(userId) : null;
+        return new CursorPageDto<>(rows.stream().map(entryConverter::toResponseDto).toList(), nextCursor, total);
     }
 
+    /**
+     * Full-text search over the user's entry titles and reflections, best match first.
+     */
     @Transactional(readOnly = true)
-    public Page<EntryResponseDto> getEntriesByEmotion(String userId, String emotion, Pageable pageable) {
+    public Page<EntrySearchResultDto> searchEntries(Long userId, String query, Pageable pageable) {
+        if (query == null || query.isBlank()) {
+            throw new ValidationException("Search query is required");
+        }
+        if (query.length() > MAX_SEARCH_QUERY_LENGTH) {
+            throw new ValidationException("Search query must be at most " + MAX_SEARCH_QUERY_LENGTH + " characters");
+        }
+
         Pageable validatedPageable = validateAndCreatePageable(pageable);
-        Page<EntryEntity> entryPage = entryRepository.findByUserIdAndEmotionsContaining(userId, emotion, validatedPageable);
-        return entryConverter.toResponseDtoPage(entryPage);
+        Page<EntrySearchHit> hits = entrySearchIndex.search(userId, query.trim(),
+                PageRequest.of(validatedPageable.getPageNumber(), validatedPageable.getPageSize()));
+
+        Map<UUID, EntryEntity> entries = new HashMap<>();
+        entryRepository.findAllById(hits.map(EntrySearchHit::entryId).getContent())
+                .forEach(entry -> entries.put(entry.getId(), entry));
+        // A hit can outlive its entry: deleted since the search ran, or still in a stale index
+        List<EntrySearchResultDto> results = hits.getContent().stream()
+                .filter(hit -> entries.containsKey(hit.entryId()))
+                .map(hit -> EntrySearchResultDto.builder()
+                        .entry(entryConverter.toResponseDto(entries.get(hit.entryId())))
+                        .rank(hit.rank())
+                        .titleHighlight(hit.titleHighlight())
+                        .reflectionHighlight(hit.reflectionHighlight())
+                        .build())
+                .toList();
+        long missing = hits.getNumberOfElements() - results.size();
+        return new PageImpl<>(results, hits.getPageable(), hits.getTotalElements() - missing);
+    }
+
+    /**
+     * Strong ETag for one entry, read from its version without loading it.
+     *
+     * @return the ETag, or empty if the entry does not exist
+     */
+    @Transactional(readOnly = true)
+    public Optional<String> getEntryETag(Long userId, String entryId) {
+        return parseId(entryId)
+                .flatMap(id -> entryRepository.findVersionByIdAndUserId(id, userId)
+                        .map(row -> entryETag(id.toString(), row.getCreatedDate(), row.getVersion())));
     }
 
+    /**
+     * Strong ETag of an entry as returned by this service; matches {@link #getEntryETag}.
+     */
+    public String getEntryETag(EntryResponseDto entry) {
+        return entryETag(entry.getId(), entry.getCreatedAt(), entry.getVersion());
+    }
+
+    /**
+     * Strong ETag for a listing of the user's entries. It changes whenever any of the
+     * user's entries is created, updated or deleted, and differs per query.
+     *
+     * @param query the request's query string, which selects the page and filters
+     */
     @Transactional(readOnly = true)
-    public EntryResponseDto getEntryById(String userId, String entryId) {
-        EntryEntity entry = entryRepository.findByIdAndUserId(entryId, userId)
+    public String getEntriesETag(Long userId, String query) {
+        return etag(userId + '|' + entryRepository.findEntriesVersion(userId) + '|' + query);
+    }
+
+    @Transactional(readOnly = true)
+    public EntryResponseDto getEntryById(Long userId, String entryId) {
+        return parseId(entryId)
+                .flatMap(id -> entryRepository.findRowByIdAndUserId(id, userId))
+                .map(entryConverter::toResponseDto)
                 .orElseThrow(() -> new NotFoundException("Entry not found"));
-        
-        return entryConverter.toResponseDto(entry);
     }
 
-    public EntryResponseDto createEntry(String userId, EntryRequestDto requestDto) {
+    public EntryResponseDto createEntry(Long userId, EntryRequestDto requestDto) {
         if (requestDto.getEmotions() == null || requestDto.getEmotions().isEmpty()) {
             throw new ValidationException("At least one emotion is required");
         }
 
-        String entryId = UUID.randomUUID().toString();
-        EntryEntity entry = entryConverter.toEntity(requestDto, entryId, userId);
+        long emotionMask = emotionDictionary.mask(requestDto.getEmotions());
+        EntryEntity entry = entryConverter.toEntity(requestDto, UuidV7.generate(), userId);
+        entry.setEmotionMask(emotionMask);
         
         EntryEntity savedEntry = entryRepository.save(entry);
+        entrySearchIndex.index(savedEntry);
         return entryConverter.toResponseDto(savedEntry);
     }
 
-    public EntryResponseDto updateEntry(String userId, String entryId, EntryRequestDto requestDto) {
-        EntryEntity entry = entryRepository.findByIdAndUserId(entryId, userId)
-                .orElseThrow(() -> new NotFoundException("Entry not found"));
+    /**
+     * Replace an entry's title, reflection and emotions.
+     *
+     * @param ifMatch If-Match header value to check against the entry's ETag, or null
+     */
+    public EntryResponseDto updateEntry(Long userId, String entryId, EntryRequestDto requestDto, String ifMatch) {
+        EntryEntity entry = findForWrite(userId, entryId, ifMatch);
 
         if (requestDto.getEmotions() == null || requestDto.getEmotions().isEmpty()) {
             throw new ValidationException("At least one emotion is required");
         }
 
+        long emotionMask = emotionDictionary.mask(requestDto.getEmotions());
         entryConverter.updateEntityFromDto(requestDto, entry);
+        entry.setEmotionMask(emotionMask);
 
-        EntryEntity savedEntry = entryRepository.save(entry);
+        // Flush now so the response carries the incremented version
+        EntryEntity savedEntry = entryRepository.saveAndFlush(entry);
+        entrySearchIndex.index(savedEntry);
         return entryConverter.toResponseDto(savedEntry);
     }
 
-    public void deleteEntry(String userId, String entryId) {
-        if (!entryRepository.existsByIdAndUserId(entryId, userId)) {
+    /**
+     * Change only the fields present in the patch. Only columns whose values actually
+     * change are written, and nothing is written if none do.
+     *
+     * @param ifMatch If-Match header value to check against the entry's ETag, or null
+     */
+    public EntryResponseDto patchEntry(Long userId, String entryId, EntryPatchDto patchDto, String ifMatch) {
+        EntryEntity entry = findForWrite(userId, entryId, ifMatch);
+
+        if (patchDto.getEmotions() != null) {
+            entry.setEmotionMask(emotionDictionary.mask(patchDto.getEmotions()));
+        }
+        entryConverter.applyPatch(patchDto, entry);
+
+        EntryEntity savedEntry = entryRepository.saveAndFlush(entry);
+        entrySearchIndex.index(savedEntry);
+        return entryConverter.toResponseDto(savedEntry);
+    }
+
+    public void deleteEntry(Long userId, String entryId) {
+        UUID id = parseId(entryId).orElseThrow(() -> new NotFoundException("Entry not found"));
+        if (entryRepository.deleteByIdAndUserId(id, userId, Instant.now()) == 0) {
             throw new NotFoundException("Entry not found");
         }
+        entrySearchIndex.remove(id);
+    }
 
-        entryRepository.deleteById(entryId);
+    /**
+     * Load an entry for modification. The entry's version makes the eventual UPDATE fail
+     * if another request changed the entry in between.
+     *
+     * @throws PreconditionFailedException if ifMatch is given and matches neither "*" nor the current ETag
+     */
+    private EntryEntity findForWrite(Long userId, String entryId, String ifMatch) {
+        EntryEntity entry = parseId(entryId)
+                .flatMap(id -> entryRepository.findByIdAndUserId(id, userId))
+                .orElseThrow(() -> new NotFoundException("Entry not found"));
+        if (ifMatch != null) {
+            ETag current = ETag.create(entryETag(entry.getId().toString(), entry.getCreatedDate(), entry.getVersion()));
+            if (ETag.parse(ifMatch).stream().noneMatch(tag -> tag.isWildcard() || tag.compare(current, true))) {
+                throw new PreconditionFailedException("Entry has been modified since it was read");
+            }
+        }
+        return entry;
+    }
+
+    /**
+     * The version alone identifies an entry state; the creation date tells apart an entry
+     * re-created under the same ID.
+     */
+    private static String entryETag(String entryId, Instant createdDate, Long version) {
+        return etag(entryId + '|' + createdDate + '|' + version);
+    }
+
+    /**
+     * IDs arrive as path segments; one that is not a UUID cannot name an entry.
+     */
+    private static Optional<UUID> parseId(String entryId) {
+        try {
+            return Optional.of(UUID.fromString(entryId));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static String etag(String source) {
+        return '"' + DigestUtils.md5DigestAsHex(source.getBytes(StandardCharsets.UTF_8)) + '"';
     }
 
     private Pageable validateAndCreatePageable(Pageable pageable) {
@@ -113,8 +324,96 @@ public class EntryService {
         return PageRequest.of(page, pageSize, pageable.getSort());
     }
 
-    private LocalDateTime parseDateTime(String dateString) throws DateTimeParseException {
-        DateTimeFormatter formatter = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
-        return LocalDateTime.parse(dateString, formatter);
+    /**
+     * Match entries on their emotion mask, falling back to entry_emotions only when one of
+     * the emotions has no mask bit.
+     *
+     * @return the specification, or null if no entry can match
+     */
+    private Specification<EntryEntity> emotionSpecification(Collection<String> emotions, EmotionMatch match) {
+        Set<String> known = new LinkedHashSet<>();
+        long mask = 0;
+        boolean needsJoin = false;
+        for (String emotion : new LinkedHashSet<>(emotions)) {
+            Optional<Short> id = emotionDictionary.findId(emotion);
+            if (id.isEmpty()) {
+                // Not in the vocabulary, so no entry has it
+                if (match == EmotionMatch.ALL) {
+                    return null;
+                }
+                continue;
+            }
+            known.add(emotion);
+            long bit = EmotionDictionary.bit(id.get());
+            mask |= bit;
+            needsJoin |= bit == 0;
+        }
+        if (known.isEmpty()) {
+            return null;
+        }
+
+        if (needsJoin) {
+            return match == EmotionMatch.ALL
+                    ? EntrySpecifications.hasAllEmotions(known)
+                    : EntrySpecifications.hasAnyEmotion(known);
+        }
+        return match == EmotionMatch.ALL
+                ? EntrySpecifications.hasAllEmotionBits(mask)
+                : EntrySpecifications.hasAnyEmotionBit(mask);
+    }
+
+    /**
+     * Entries can only be ordered by creation date, which the index serves in either
+     * direction; ID breaks ties so pages are stable.
+     */
+    private Sort createdDateSort(Sort requested) {
+        Sort.Direction direction = Sort.Direction.DESC;
+        for (Sort.Order order : requested) {
+            if (!"createdDate".equals(order.getProperty())) {
+                throw new ValidationException("Entries can only be sorted by createdDate");
+            }
+            direction = order.getDirection();
+        }
+        return Sort.by(direction, "createdDate", "id");
+    }
+
+    private ZoneId parseZone(String timezone) {
+        try {
+            return ZoneId.of(timezone);
+        } catch (DateTimeException e) {
+            throw new ValidationException("Invalid timezone: " + timezone);
+        }
+    }
+
+    /**
+     * Parse a date bound given as an ISO date, a local date-time in the given zone, or a
+     * date-time with an offset.
+     */
+    private DateBound parseDateBound(String value, ZoneId zone) {
+        try {
+            return new DateBound(OffsetDateTime.parse(value).toInstant(), null);
+        } catch (DateTimeParseException ignored) {
+            // Not an absolute date-time, try the local forms
+        }
+        try {
+            return new DateBound(LocalDateTime.parse(value).atZone(zone).toInstant(), null);
+        } catch (DateTimeParseException ignored) {
+            // Not a local date-time, try a plain date
+        }
+        try {
+            LocalDate date = LocalDate.parse(value);
+            return new DateBound(date.atStartOfDay(zone).toInstant(), date);
+        } catch (DateTimeParseException e) {
+            throw new ValidationException("Invalid date format. Use ISO format (yyyy-MM-dd, yyyy-MM-ddTHH:mm:ss or with an offset)");
+        }
+    }
+
+    /**
+     * A parsed date filter bound; date is set when only a day was given.
+     */
+    private record DateBound(Instant instant, LocalDate date) {
+        boolean dateOnly() {
+            return date != null;
+        }
     }
 }
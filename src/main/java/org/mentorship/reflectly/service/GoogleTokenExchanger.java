@@ -0,0 +1,100 @@
+package org.mentorship.reflectly.service;
+
+import com.google.api.client.googleapis.auth.oauth2.GoogleAuthorizationCodeTokenRequest;
+import com.google.api.client.googleapis.auth.oauth2.GoogleTokenResponse;
+import com.google.api.client.http.HttpTransport;
+import com.google.api.client.json.gson.GsonFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.mentorship.reflectly.exception.ServiceUnavailableException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Runs the Google authorization code exchange off the servlet threads.
+ * Exchanges share the pooled googleHttpTransport and run on a dedicated bounded pool;
+ * when the pool and its queue are full, new logins are rejected with a 503 instead of
+ * piling up. The token endpoint is configurable so the flow can be load-tested against
+ * a local stub server.
+ */
+@Component
+public class GoogleTokenExchanger {
+
+    // Redirect URI used by react-oauth/google
+    private static final String REDIRECT_URI = "postmessage";
+
+    private final HttpTransport googleHttpTransport;
+    private final String tokenUri;
+    private final String clientId;
+    private final String clientSecret;
+    private final ThreadPoolExecutor executor;
+    private final ExecutorService monitoredExecutor;
+
+    public GoogleTokenExchanger(
+            HttpTransport googleHttpTransport,
+            MeterRegistry meterRegistry,
+            @Value("${app.google.token-uri:https://oauth2.googleapis.com/token}") String tokenUri,
+            @Value("${app.google.client-id}") String clientId,
+            @Value("${app.google.client-secret}") String clientSecret,
+            @Value("${app.google.token-exchange.pool-size:16}") int poolSize,
+            @Value("${app.google.token-exchange.queue-capacity:100}") int queueCapacity) {
+        this.googleHttpTransport = googleHttpTransport;
+        this.tokenUri = tokenUri;
+        this.clientId = clientId;
+        this.clientSecret = clientSecret;
+        this.executor = new ThreadPoolExecutor(
+                poolSize, poolSize, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("google-token-exchange-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+        this.monitoredExecutor = ExecutorServiceMetrics.monitor(meterRegistry, executor, "google.token-exchange");
+    }
+
+    /**
+     * Exchange an authorization code for tokens on the exchange pool, then apply the
+     * given continuation (verification, user lookup) on the same pool thread.
+     * The future fails with IllegalArgumentException if Google rejects the code.
+     *
+     * @throws ServiceUnavailableException if the exchange pool is saturated
+     */
+    public <T> CompletableFuture<T> exchange(String authCode, Function<GoogleTokenResponse, T> continuation) {
+        try {
+            return CompletableFuture.supplyAsync(() -> continuation.apply(execute(authCode)), monitoredExecutor);
+        } catch (RejectedExecutionException e) {
+            throw new ServiceUnavailableException("Too many concurrent logins, please retry");
+        }
+    }
+
+    private GoogleTokenResponse execute(String authCode) {
+        try {
+            GoogleAuthorizationCodeTokenRequest request = new GoogleAuthorizationCodeTokenRequest(
+                    googleHttpTransport,
+                    GsonFactory.getDefaultInstance(),
+                    tokenUri,
+                    clientId,
+                    clientSecret,
+                    authCode,
+                    REDIRECT_URI);
+            return request.execute();
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Failed to exchange Google Auth Code", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
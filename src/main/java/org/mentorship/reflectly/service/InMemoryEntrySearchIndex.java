@@ -0,0 +1,226 @@
+package org.mentorship.reflectly.service;
+
+import lombok.RequiredArgsConstructor;
+import org.mentorship.reflectly.dto.EntrySearchHit;
+import org.mentorship.reflectly.model.EntryEntity;
+import org.mentorship.reflectly.repository.EntryRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.util.HtmlUtils;
+
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * In-process inverted index used when the database has no full-text support (H2, tests).
+ * Built from all entries at startup and then updated per write once the writing
+ * transaction commits. Terms are lower-cased words without stemming; a query matches
+ * entries containing every term, ranked by TF-IDF with title hits weighted higher.
+ */
+@Component
+@ConditionalOnProperty(name = "app.search.engine", havingValue = "memory")
+@RequiredArgsConstructor
+public class InMemoryEntrySearchIndex implements EntrySearchIndex {
+
+    private static final Pattern TOKEN = Pattern.compile("[\\p{L}\\p{N}]+");
+    private static final int TITLE_WEIGHT = 3;
+    private static final int EXCERPT_BEFORE = 60;
+    private static final int EXCERPT_LENGTH = 200;
+
+    private final EntryRepository entryRepository;
+    private final Map<UUID, Document> documents = new ConcurrentHashMap<>();
+    private final Map<String, Set<UUID>> postings = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        entryRepository.findAll().forEach(entry -> put(Document.of(entry)));
+    }
+
+    @Override
+    public Page<EntrySearchHit> search(Long userId, String query, Pageable pageable) {
+        Set<String> terms = tokenize(query).keySet();
+        if (terms.isEmpty()) {
+            return Page.empty(pageable);
+        }
+
+        // Walk the rarest term's postings and check the remaining terms per document
+        Set<UUID> rarest = terms.stream()
+                .map(term -> postings.getOrDefault(term, Set.of()))
+                .min(Comparator.comparingInt(Set::size))
+                .orElse(Set.of());
+        int documentCount = Math.max(1, documents.size());
+        Map<String, Double> idf = new HashMap<>();
+        for (String term : terms) {
+            int frequency = postings.getOrDefault(term, Set.of()).size();
+            idf.put(term, Math.log(1.0 + (double) documentCount / Math.max(1, frequency)));
+        }
+
+        List<ScoredDocument> matches = rarest.stream()
+                .map(documents::get)
+                .filter(document -> document != null && document.userId().equals(userId) && document.containsAll(terms))
+                .map(document -> new ScoredDocument(document, document.score(terms, idf)))
+                .sorted(Comparator.comparingDouble(ScoredDocument::score).reversed()
+                        .thenComparing(scored -> scored.document().createdDate(), Comparator.nullsLast(Comparator.reverseOrder()))
+                        .thenComparing(scored -> scored.document().id(), Comparator.reverseOrder()))
+                .toList();
+
+        int from = (int) Math.min(pageable.getOffset(), matches.size());
+        int to = Math.min(from + pageable.getPageSize(), matches.size());
+        List<EntrySearchHit> hits = matches.subList(from, to).stream()
+                .map(scored -> new EntrySearchHit(
+                        scored.document().id(),
+                        scored.score(),
+                        highlight(scored.document().title(), terms),
+                        highlight(excerpt(scored.document().reflection(), terms), terms)))
+                .toList();
+        return new PageImpl<>(hits, pageable, matches.size());
+    }
+
+    @Override
+    public void index(EntryEntity entry) {
+        Document document = Document.of(entry);
+        afterCommit(() -> put(document));
+    }
+
+    @Override
+    public void remove(UUID entryId) {
+        afterCommit(() -> delete(entryId));
+    }
+
+    private synchronized void put(Document document) {
+        delete(document.id());
+        documents.put(document.id(), document);
+        document.terms().forEach(term -> postings.computeIfAbsent(term, t -> ConcurrentHashMap.newKeySet()).add(document.id()));
+    }
+
+    private synchronized void delete(UUID entryId) {
+        Document previous = documents.remove(entryId);
+        if (previous == null) {
+            return;
+        }
+        for (String term : previous.terms()) {
+            Set<UUID> ids = postings.get(term);
+            if (ids != null) {
+                ids.remove(entryId);
+                if (ids.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+
+    /**
+     * Apply an index change once the surrounding transaction commits, so rolled-back
+     * writes never become searchable.
+     */
+    private static void afterCommit(Runnable change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            change.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                change.run();
+            }
+        });
+    }
+
+    private static Map<String, Integer> tokenize(String text) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        if (text == null) {
+            return frequencies;
+        }
+        Matcher matcher = TOKEN.matcher(text);
+        while (matcher.find()) {
+            frequencies.merge(matcher.group().toLowerCase(Locale.ROOT), 1, Integer::sum);
+        }
+        return frequencies;
+    }
+
+    /**
+     * A window of the text starting a little before the first matched term.
+     */
+    private static String excerpt(String text, Set<String> terms) {
+        if (text.length() <= EXCERPT_LENGTH) {
+            return text;
+        }
+        int firstMatch = 0;
+        Matcher matcher = TOKEN.matcher(text);
+        while (matcher.find()) {
+            if (terms.contains(matcher.group().toLowerCase(Locale.ROOT))) {
+                firstMatch = matcher.start();
+                break;
+            }
+        }
+        int start = Math.max(0, firstMatch - EXCERPT_BEFORE);
+        int end = Math.min(text.length(), start + EXCERPT_LENGTH);
+        return (start > 0 ? "..." : "") + text.substring(start, end) + (end < text.length() ? "..." : "");
+    }
+
+    /**
+     * HTML-escape the text and wrap matched terms in mark tags.
+     */
+    private static String highlight(String text, Set<String> terms) {
+        StringBuilder highlighted = new StringBuilder();
+        Matcher matcher = TOKEN.matcher(text);
+        int last = 0;
+        while (matcher.find()) {
+            if (terms.contains(matcher.group().toLowerCase(Locale.ROOT))) {
+                highlighted.append(HtmlUtils.htmlEscape(text.substring(last, matcher.start())))
+                        .append("<mark>").append(HtmlUtils.htmlEscape(matcher.group())).append("</mark>");
+                last = matcher.end();
+            }
+        }
+        return highlighted.append(HtmlUtils.htmlEscape(text.substring(last))).toString();
+    }
+
+    private record Document(UUID id, Long userId, Instant createdDate, String title, String reflection,
+                            Map<String, Integer> titleTerms, Map<String, Integer> reflectionTerms) {
+
+        static Document of(EntryEntity entry) {
+            return new Document(entry.getId(), entry.getUserId(), entry.getCreatedDate(),
+                    entry.getTitle(), entry.getReflection(),
+                    tokenize(entry.getTitle()), tokenize(entry.getReflection()));
+        }
+
+        Set<String> terms() {
+            Set<String> terms = new LinkedHashSet<>(titleTerms.keySet());
+            terms.addAll(reflectionTerms.keySet());
+            return terms;
+        }
+
+        boolean containsAll(Set<String> terms) {
+            return terms.stream().allMatch(term -> titleTerms.containsKey(term) || reflectionTerms.containsKey(term));
+        }
+
+        double score(Set<String> terms, Map<String, Double> idf) {
+            double score = 0;
+            for (String term : terms) {
+                int frequency = TITLE_WEIGHT * titleTerms.getOrDefault(term, 0) + reflectionTerms.getOrDefault(term, 0);
+                score += idf.get(term) * frequency;
+            }
+            return score;
+        }
+    }
+
+    private record ScoredDocument(Document document, double score) {
+    }
+}
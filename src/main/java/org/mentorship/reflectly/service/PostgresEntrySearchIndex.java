@@ -0,0 +1,34 @@
+package org.mentorship.reflectly.service;
+
+import lombok.RequiredArgsConstructor;
+import org.mentorship.reflectly.dto.EntrySearchHit;
+import org.mentorship.reflectly.repository.EntryRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+/**
+ * Searches the entries.search_vector column through its GIN index, ranking with ts_rank
+ * and highlighting with ts_headline. PostgreSQL maintains the column itself on every
+ * insert and update, so index() and remove() have nothing to do.
+ */
+@Component
+@ConditionalOnProperty(name = "app.search.engine", havingValue = "postgres", matchIfMissing = true)
+@RequiredArgsConstructor
+public class PostgresEntrySearchIndex implements EntrySearchIndex {
+
+    private final EntryRepository entryRepository;
+
+    @Override
+    public Page<EntrySearchHit> search(Long userId, String query, Pageable pageable) {
+        return entryRepository.search(userId, query, pageable)
+                .map(row -> new EntrySearchHit(
+                        row.getEntryId(), row.getRank(), row.getTitleHighlight(), row.getReflectionHighlight()));
+    }
+
+    @Override
+    public boolean isMaintainedByDatabase() {
+        return true;
+    }
+}
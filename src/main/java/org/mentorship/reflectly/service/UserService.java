@@ -2,28 +2,40 @@ package org.mentorship.reflectly.service;
 
 import com.google.api.client.googleapis.auth.oauth2.GoogleIdToken;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.mentorship.reflectly.dto.UserProfileRecord;
 import org.mentorship.reflectly.model.UserEntity;
+import org.mentorship.reflectly.repository.UpsertedUser;
 import org.mentorship.reflectly.repository.UserRepository;
 import org.mentorship.reflectly.security.GoogleAuthenticationToken;
+import org.mentorship.reflectly.security.PasswordHasher;
+import org.mentorship.reflectly.security.TokenRevocationService;
+import org.mentorship.reflectly.security.UserPrincipalCache;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.Objects;
-import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
+
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class UserService {
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
+    private final UserPrincipalCache userPrincipalCache;
+    private final TokenRevocationService tokenRevocationService;
+    private final TransactionTemplate transactionTemplate;
 
     /**
-     * Find existing user by email or create a new one based on Google profile data
+     * Find existing user by email or create a new one based on Google profile data.
+     * Runs as a single upsert, so concurrent first logins for the same account cannot
+     * race into a unique-constraint violation.
      *
      * @param payload The decoded payload from the Google ID Token
      * @return The persisted User entity
@@ -34,77 +46,123 @@ public class UserService {
         String fullName = (String) payload.get("name");
         String pictureUrl = (String) payload.get("picture");
 
-        Optional<UserEntity> existingUserOpt = userRepository.findByEmail(email);
-
-        if (existingUserOpt.isPresent()) {
-            UserEntity userToUpdate = existingUserOpt.get();
-
-            if (!Objects.equals(fullName, userToUpdate.getFullName()) || !Objects.equals(pictureUrl, userToUpdate.getPictureUrl())) {
-                userToUpdate.setFullName(fullName);
-                userToUpdate.setPictureUrl(pictureUrl != null ? pictureUrl : "");
-                return userRepository.save(userToUpdate);
-            }
-
-            return userToUpdate;
+        UpsertedUser upserted = userRepository.upsertByEmail(
+                        email,
+                        fullName != null ? fullName : "",
+                        pictureUrl != null ? pictureUrl : "")
+                // Only empty if a concurrent first login committed after our snapshot
+                .or(() -> userRepository.findByEmail(email).map(existing -> new UpsertedUser(existing, false)))
+                .orElseThrow(() -> new RuntimeException("User not found with email " + email));
+
+        UserEntity user = upserted.user();
+        // A repeat login with an unchanged profile leaves the cached principal valid
+        if (upserted.changed()) {
+            userPrincipalCache.evict(user.getId());
         }
-
-        UserEntity newUser = new UserEntity();
-        newUser.setEmail(email);
-        newUser.setFullName(fullName != null ? fullName : "");
-        newUser.setPictureUrl(pictureUrl != null ? pictureUrl : "");
-        return userRepository.save(newUser);
+        return user;
     }
 
     /**
      * Create a new user with username and password (credential-based signup).
+     * The password is hashed before touching the database, and the insert is a single
+     * statement that reports a taken username instead of racing on it.
+     *
+     * @return future user; completes exceptionally with IllegalArgumentException if the
+     *         username is taken
      */
-    @Transactional
-    public UserEntity createUser(String username, String password, String fullName) {
-        if (userRepository.findByUsername(username).isPresent()) {
-            throw new IllegalArgumentException("Username is already taken");
-        }
-
-        UserEntity newUser = new UserEntity();
-        newUser.setUsername(username);
-        newUser.setFullName(fullName != null ? fullName : "");
-        newUser.setPictureUrl("");
-        newUser.setPasswordHash(passwordEncoder.encode(password));
-        return userRepository.save(newUser);
+    public CompletableFuture<UserEntity> createUser(String username, String password, String fullName) {
+        return passwordHasher.encode(password).thenApply(passwordHash ->
+                userRepository.insertIfUsernameAvailable(username, fullName != null ? fullName : "", passwordHash)
+                        .orElseThrow(() -> new IllegalArgumentException("Username is already taken")));
     }
 
     /**
      * Authenticate a user by username and password.
+     * Stored hashes that use an outdated encoding or work factor are upgraded on success,
+     * in the background and only while the hashing pool has room; see {@link #rehash}.
      *
-     * @return the authenticated UserEntity
-     * @throws IllegalArgumentException if credentials are invalid
+     * @return future authenticated UserEntity; completes exceptionally with
+     *         IllegalArgumentException if the password is wrong
+     * @throws IllegalArgumentException if there is no such user
      */
-    public UserEntity authenticateByCredentials(String username, String password) {
+    public CompletableFuture<UserEntity> authenticateByCredentials(String username, String password) {
         UserEntity user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new IllegalArgumentException("Invalid username or password"));
-
-        if (user.getPasswordHash() == null || !passwordEncoder.matches(password, user.getPasswordHash())) {
+        if (user.getPasswordHash() == null) {
             throw new IllegalArgumentException("Invalid username or password");
         }
 
-        return user;
+        return passwordHasher.matches(password, user.getPasswordHash()).thenApply(matches -> {
+            if (!matches) {
+                throw new IllegalArgumentException("Invalid username or password");
+            }
+            if (passwordHasher.upgradeEncoding(user.getPasswordHash())) {
+                rehash(user, password);
+            }
+            return user;
+        });
+    }
+
+    /**
+     * Re-encode a password with the current work factor now that the raw password is known.
+     * Best effort: the login does not wait for it, it is skipped while the hashing pool is
+     * busy, and the stored hash is only replaced if nobody changed it in the meantime.
+     */
+    private void rehash(UserEntity user, String password) {
+        if (!passwordHasher.hasSpareCapacity()) {
+            return;
+        }
+        String outdatedHash = user.getPasswordHash();
+        passwordHasher.encode(password)
+                .thenAccept(passwordHash -> {
+                    if (userRepository.updatePasswordHash(user.getId(), outdatedHash, passwordHash) > 0) {
+                        userPrincipalCache.evict(user.getId());
+                    }
+                })
+                .exceptionally(e -> {
+                    log.debug("Skipped password rehash for user {}", user.getId(), e);
+                    return null;
+                });
     }
 
     /**
      * Change the password for the currently authenticated user.
+     * Every token issued to the user before the change is revoked; clients must sign in again.
+     * The hashes are computed first; the write then fails if the password changed meanwhile.
+     * The write runs on the thread PasswordHasher completes on, never on a hashing thread.
+     *
+     * @return future updated user; completes exceptionally with IllegalArgumentException
+     *         if the current password is incorrect
      */
-    @Transactional
-    public UserEntity changePassword(String currentPassword, String newPassword) {
-        UserEntity user = getCurrentUserEntity();
+    public CompletableFuture<UserEntity> changePassword(String currentPassword, String newPassword) {
+        UserEntity user = getCurrentUserEntityForUpdate();
+        String verifiedHash = user.getPasswordHash();
 
         // If user already has a password, verify the current one
-        if (user.getPasswordHash() != null) {
-            if (currentPassword == null || !passwordEncoder.matches(currentPassword, user.getPasswordHash())) {
-                throw new IllegalArgumentException("Current password is incorrect");
-            }
-        }
-
-        user.setPasswordHash(passwordEncoder.encode(newPassword));
-        return userRepository.save(user);
+        CompletableFuture<Boolean> verified = verifiedHash == null
+                ? CompletableFuture.completedFuture(true)
+                : currentPassword == null
+                        ? CompletableFuture.completedFuture(false)
+                        : passwordHasher.matches(currentPassword, verifiedHash);
+
+        return verified
+                .thenCompose(matches -> {
+                    if (!matches) {
+                        throw new IllegalArgumentException("Current password is incorrect");
+                    }
+                    return passwordHasher.encode(newPassword);
+                })
+                .thenApply(passwordHash -> transactionTemplate.execute(status -> {
+                    UserEntity current = userRepository.findById(user.getId())
+                            .orElseThrow(() -> new RuntimeException("User not found with id " + user.getId()));
+                    if (!Objects.equals(current.getPasswordHash(), verifiedHash)) {
+                        throw new IllegalArgumentException("Current password is incorrect");
+                    }
+                    current.setPasswordHash(passwordHash);
+                    userPrincipalCache.evict(current.getId());
+                    tokenRevocationService.revokeAllForUser(current.getId());
+                    return userRepository.save(current);
+                }));
     }
 
     /**
@@ -112,8 +170,9 @@ public class UserService {
      */
     @Transactional
     public UserEntity updateProfile(String fullName) {
-        UserEntity user = getCurrentUserEntity();
+        UserEntity user = getCurrentUserEntityForUpdate();
         user.setFullName(fullName);
+        userPrincipalCache.evict(user.getId());
         return userRepository.save(user);
     }
 
@@ -122,8 +181,9 @@ public class UserService {
      */
     @Transactional
     public UserEntity updateAvatar(String pictureUrl) {
-        UserEntity user = getCurrentUserEntity();
+        UserEntity user = getCurrentUserEntityForUpdate();
         user.setPictureUrl(pictureUrl);
+        userPrincipalCache.evict(user.getId());
         return userRepository.save(user);
     }
 
@@ -141,6 +201,16 @@ public class UserService {
                 .orElseThrow(() -> new RuntimeException("User not found with email " + authentication.getName()));
     }
 
+    /**
+     * Load a fresh copy of the current user for modification. The principal may be a
+     * snapshot shared through UserPrincipalCache, so it must not be mutated in place.
+     */
+    private UserEntity getCurrentUserEntityForUpdate() {
+        Long userId = getCurrentUserEntity().getId();
+        return userRepository.findById(userId)
+                .orElseThrow(() -> new RuntimeException("User not found with id " + userId));
+    }
+
     public UserProfileRecord getUserProfile() {
         UserEntity entity = getCurrentUserEntity();
         return toProfileRecord(entity);
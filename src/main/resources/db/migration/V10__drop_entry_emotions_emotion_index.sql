@@ -0,0 +1,7 @@
+-- Emotion filters go through entries.emotion_mask since V8, and the fallback for emotions
+-- without a mask bit checks entry_emotions per entry, which the (entry_id, emotion) primary
+-- key serves. Nothing looks entry_emotions up by emotion name any more, so this index only
+-- costs a write on every emotion an entry gets.
+-- Dropped CONCURRENTLY so entry writes are not blocked; see the .conf file next to this script.
+
+DROP INDEX CONCURRENTLY IF EXISTS idx_entry_emotions_emotion_entry;
@@ -0,0 +1,85 @@
+-- =====================================================
+-- Baseline schema
+-- =====================================================
+-- Written to be idempotent so it also applies cleanly to databases created before
+-- migrations existed (from database_schema.sql or Hibernate ddl-auto), which Flyway
+-- baselines at version 0.
+
+-- Users
+CREATE TABLE IF NOT EXISTS users (
+    id BIGSERIAL PRIMARY KEY,
+    email VARCHAR(254) UNIQUE,
+    username VARCHAR(50) UNIQUE,
+    full_name VARCHAR(255),
+    picture_url VARCHAR(500) NOT NULL,
+    password_hash VARCHAR(255)
+);
+
+-- Entries
+CREATE TABLE IF NOT EXISTS entries (
+    id VARCHAR(36) PRIMARY KEY,
+    user_id VARCHAR(36) NOT NULL,
+    title VARCHAR(100) NOT NULL,
+    reflection TEXT NOT NULL,
+    emotion_mask BIGINT NOT NULL DEFAULT 0,
+    created_date TIMESTAMP WITH TIME ZONE,
+    created_by VARCHAR(255),
+    last_modified_date TIMESTAMP WITH TIME ZONE,
+    last_modified_by VARCHAR(255)
+);
+
+-- Columns older schemas may lack
+ALTER TABLE entries ADD COLUMN IF NOT EXISTS emotion_mask BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE entries ADD COLUMN IF NOT EXISTS created_date TIMESTAMP WITH TIME ZONE;
+ALTER TABLE entries ADD COLUMN IF NOT EXISTS created_by VARCHAR(255);
+ALTER TABLE entries ADD COLUMN IF NOT EXISTS last_modified_date TIMESTAMP WITH TIME ZONE;
+ALTER TABLE entries ADD COLUMN IF NOT EXISTS last_modified_by VARCHAR(255);
+
+CREATE INDEX IF NOT EXISTS idx_user_entries ON entries(user_id);
+CREATE INDEX IF NOT EXISTS idx_entries_created_date ON entries(created_date);
+
+-- Entry emotions (ElementCollection)
+CREATE TABLE IF NOT EXISTS entry_emotions (
+    entry_id VARCHAR(36) NOT NULL,
+    emotion VARCHAR(50) NOT NULL,
+    PRIMARY KEY (entry_id, emotion),
+    FOREIGN KEY (entry_id) REFERENCES entries(id) ON DELETE CASCADE
+);
+
+-- Emotion dictionary; IDs 0-62 are bit positions in entries.emotion_mask
+CREATE TABLE IF NOT EXISTS emotions (
+    id SMALLINT PRIMARY KEY,
+    name VARCHAR(50) NOT NULL UNIQUE
+);
+
+-- Revoked tokens; token_id is a JWT "jti", or "user:{id}" for a user-wide revocation
+CREATE TABLE IF NOT EXISTS revoked_tokens (
+    token_id VARCHAR(64) PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    revoked_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    expires_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_revoked_tokens_expires_at ON revoked_tokens(expires_at);
+
+-- Register emotions used by existing entries, most frequent first so the common
+-- ones get mask bits, then compute the masks of entries written before they existed
+INSERT INTO emotions (id, name)
+SELECT (SELECT COALESCE(MAX(id), -1) FROM emotions)
+           + ROW_NUMBER() OVER (ORDER BY COUNT(*) DESC, ee.emotion),
+       ee.emotion
+FROM entry_emotions ee
+WHERE NOT EXISTS (SELECT 1 FROM emotions e WHERE e.name = ee.emotion)
+GROUP BY ee.emotion
+ON CONFLICT DO NOTHING;
+
+UPDATE entries e
+SET emotion_mask = m.mask
+FROM (
+    SELECT ee.entry_id, BIT_OR(1::bigint << em.id) AS mask
+    FROM entry_emotions ee
+    JOIN emotions em ON em.name = ee.emotion
+    WHERE em.id < 63
+    GROUP BY ee.entry_id
+) m
+WHERE e.id = m.entry_id AND e.emotion_mask = 0;
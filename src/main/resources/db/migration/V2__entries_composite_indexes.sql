@@ -0,0 +1,16 @@
+-- Composite indexes for the per-user entry list and the emotion join.
+-- Built CONCURRENTLY so large tables stay writable; this requires running outside a
+-- transaction (see the .conf file next to this script). If a build fails, PostgreSQL
+-- leaves an INVALID index behind that must be dropped before re-running.
+
+-- Serves "WHERE user_id = ? ORDER BY created_date DESC, id DESC" and the keyset seek
+-- "(created_date, id) < (?, ?)" without a sort
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_entries_user_created_id
+    ON entries (user_id, created_date DESC, id DESC);
+
+-- Serves emotion lookups that join entry_emotions by emotion name
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_entry_emotions_emotion_entry
+    ON entry_emotions (emotion, entry_id);
+
+-- Covered by the leading column of idx_entries_user_created_id
+DROP INDEX CONCURRENTLY IF EXISTS idx_user_entries;
@@ -0,0 +1,14 @@
+-- Full-text search over entry titles and reflections.
+-- The tsvector is a stored generated column, so PostgreSQL keeps it current on every
+-- insert and update and searches never re-parse the text. Titles weigh more than
+-- reflections when ranking. Adding the column rewrites the table once; the GIN index
+-- is then built CONCURRENTLY, which needs the non-transactional .conf next to this script.
+
+ALTER TABLE entries ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('english', coalesce(title, '')), 'A')
+        || setweight(to_tsvector('english', coalesce(reflection, '')), 'B')
+    ) STORED;
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_entries_search_vector
+    ON entries USING GIN (search_vector);
@@ -0,0 +1,25 @@
+-- Delta sync: entries changed after a position in (last_modified_date, id) order, plus
+-- tombstones for deleted entries so clients learn about removals. Tombstones are
+-- purged after the sync retention period; clients older than that resync fully.
+-- The entries index is built CONCURRENTLY, which needs the non-transactional .conf
+-- next to this script.
+
+CREATE TABLE IF NOT EXISTS entry_tombstones (
+    entry_id VARCHAR(36) PRIMARY KEY,
+    user_id VARCHAR(36) NOT NULL,
+    deleted_date TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_entry_tombstones_user_deleted
+    ON entry_tombstones (user_id, deleted_date, entry_id);
+
+CREATE INDEX IF NOT EXISTS idx_entry_tombstones_deleted_date
+    ON entry_tombstones (deleted_date);
+
+-- Rows from before auditing have no modification time and would never appear in the feed
+UPDATE entries
+SET last_modified_date = COALESCE(created_date, now())
+WHERE last_modified_date IS NULL;
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_entries_user_modified_id
+    ON entries (user_id, last_modified_date, id);
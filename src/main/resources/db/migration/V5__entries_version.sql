@@ -0,0 +1,5 @@
+-- Optimistic locking for entries: every update checks and increments the version, so
+-- concurrent edits from two devices are detected instead of silently overwriting each
+-- other. A constant default only touches the catalog, so existing rows are not rewritten.
+
+ALTER TABLE entries ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
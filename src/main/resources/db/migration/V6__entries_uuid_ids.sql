@@ -0,0 +1,35 @@
+-- Entry IDs as native 16-byte uuid instead of VARCHAR(36) text: smaller keys and indexes,
+-- and bytewise comparisons. New IDs are time-ordered UUIDv7, so inserts append to the end
+-- of the primary key instead of landing on random pages.
+-- Rewrites entries, entry_emotions and entry_tombstones (and their indexes) under an
+-- exclusive lock; runs in one transaction, so a failure leaves the old columns in place.
+
+-- Every ID the application created is a UUID; anything else is mapped to a stable UUID
+-- derived from its text, identically in all three tables, so references stay intact.
+CREATE FUNCTION pg_temp.to_entry_uuid(id TEXT) RETURNS UUID AS $$
+    SELECT CASE
+        WHEN id ~* '^[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}$' THEN id::uuid
+        ELSE md5(id)::uuid
+    END
+$$ LANGUAGE SQL IMMUTABLE;
+
+-- The foreign key must go while the column types differ. Databases first created by
+-- Hibernate name it differently, and may lack the cascade, so drop whatever is there.
+DO $$
+DECLARE
+    fk RECORD;
+BEGIN
+    FOR fk IN SELECT conname FROM pg_constraint
+              WHERE conrelid = 'entry_emotions'::regclass AND contype = 'f'
+    LOOP
+        EXECUTE format('ALTER TABLE entry_emotions DROP CONSTRAINT %I', fk.conname);
+    END LOOP;
+END $$;
+
+ALTER TABLE entries ALTER COLUMN id TYPE UUID USING pg_temp.to_entry_uuid(id);
+ALTER TABLE entry_emotions ALTER COLUMN entry_id TYPE UUID USING pg_temp.to_entry_uuid(entry_id);
+ALTER TABLE entry_tombstones ALTER COLUMN entry_id TYPE UUID USING pg_temp.to_entry_uuid(entry_id);
+
+ALTER TABLE entry_emotions
+    ADD CONSTRAINT entry_emotions_entry_id_fkey
+    FOREIGN KEY (entry_id) REFERENCES entries(id) ON DELETE CASCADE;
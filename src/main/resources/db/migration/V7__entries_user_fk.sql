@@ -0,0 +1,60 @@
+-- Entry owners as BIGINT foreign keys to users instead of VARCHAR(36) copies of the ID:
+-- smaller per-user indexes compared as integers, and deleting a user removes their
+-- entries (and through entry_emotions' cascade, their emotions) and tombstones with it.
+-- Rewrites both tables and their indexes under an exclusive lock; runs in one transaction.
+
+-- Rows whose owner is not an existing user can never be read through the API and would
+-- fail the new foreign keys. They are moved, with their emotions, into orphaned_* tables
+-- for an operator to inspect or restore, and the counts are reported as a NOTICE; tables
+-- left empty are dropped again. The CASE keeps non-numeric IDs away from the cast.
+CREATE TABLE orphaned_entries AS
+SELECT e.* FROM entries e
+WHERE NOT EXISTS (
+    SELECT 1 FROM users u
+    WHERE u.id = CASE WHEN e.user_id ~ '^[0-9]{1,18}$' THEN e.user_id::bigint END
+);
+
+CREATE TABLE orphaned_entry_emotions AS
+SELECT ee.* FROM entry_emotions ee
+WHERE ee.entry_id IN (SELECT id FROM orphaned_entries);
+
+CREATE TABLE orphaned_entry_tombstones AS
+SELECT t.* FROM entry_tombstones t
+WHERE NOT EXISTS (
+    SELECT 1 FROM users u
+    WHERE u.id = CASE WHEN t.user_id ~ '^[0-9]{1,18}$' THEN t.user_id::bigint END
+);
+
+-- entry_emotions rows go with their entries through the cascade
+DELETE FROM entries WHERE id IN (SELECT id FROM orphaned_entries);
+DELETE FROM entry_tombstones WHERE entry_id IN (SELECT entry_id FROM orphaned_entry_tombstones);
+
+DO $$
+DECLARE
+    entry_count BIGINT := (SELECT count(*) FROM orphaned_entries);
+    tombstone_count BIGINT := (SELECT count(*) FROM orphaned_entry_tombstones);
+BEGIN
+    IF entry_count > 0 OR tombstone_count > 0 THEN
+        RAISE NOTICE 'Moved % entries and % tombstones without an existing owner to orphaned_entries, orphaned_entry_emotions and orphaned_entry_tombstones',
+            entry_count, tombstone_count;
+    END IF;
+    IF entry_count = 0 THEN
+        DROP TABLE orphaned_entries;
+        DROP TABLE orphaned_entry_emotions;
+    END IF;
+    IF tombstone_count = 0 THEN
+        DROP TABLE orphaned_entry_tombstones;
+    END IF;
+END;
+$$;
+
+ALTER TABLE entries ALTER COLUMN user_id TYPE BIGINT USING user_id::bigint;
+ALTER TABLE entry_tombstones ALTER COLUMN user_id TYPE BIGINT USING user_id::bigint;
+
+ALTER TABLE entries
+    ADD CONSTRAINT entries_user_id_fkey
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE;
+
+ALTER TABLE entry_tombstones
+    ADD CONSTRAINT entry_tombstones_user_id_fkey
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE;
@@ -0,0 +1,19 @@
+-- Emotions become a fixed vocabulary: the application only accepts names listed in the
+-- emotions table and no longer registers new ones on write, so one user can no longer
+-- exhaust the mask bits or the ID space for everyone. Names already registered stay
+-- valid; the standard set below is added after them, most common first, so on a fresh
+-- database every one of them gets a mask bit. Adding emotions later takes a migration.
+
+INSERT INTO emotions (id, name)
+SELECT (SELECT COALESCE(MAX(id), -1) FROM emotions) + ROW_NUMBER() OVER (ORDER BY v.position),
+       v.name
+FROM (VALUES
+    (1, 'happy'), (2, 'sad'), (3, 'calm'), (4, 'anxious'), (5, 'grateful'),
+    (6, 'stressed'), (7, 'excited'), (8, 'tired'), (9, 'angry'), (10, 'content'),
+    (11, 'hopeful'), (12, 'frustrated'), (13, 'lonely'), (14, 'loved'), (15, 'proud'),
+    (16, 'motivated'), (17, 'productive'), (18, 'overwhelmed'), (19, 'relaxed'), (20, 'confident'),
+    (21, 'energized'), (22, 'accomplished'), (23, 'inspired'), (24, 'peaceful'), (25, 'bored'),
+    (26, 'nervous'), (27, 'disappointed'), (28, 'joyful'), (29, 'relieved'), (30, 'curious'),
+    (31, 'scared'), (32, 'blessed'), (33, 'neutral')
+) AS v(position, name)
+WHERE NOT EXISTS (SELECT 1 FROM emotions e WHERE e.name = v.name);
@@ -0,0 +1,39 @@
+-- Per-user change counter for conditional reads of entry listings. Every statement that
+-- writes a user's entries or records a deletion bumps it in the same transaction, so
+-- the new value becomes visible exactly when the change does. Timestamps cannot give
+-- that guarantee: a transaction that commits late can carry an older modification time
+-- than changes already visible. The update also takes the user's row lock, so
+-- concurrent writers to one user's entries queue behind each other here.
+-- Statement-level triggers with transition tables bump once per statement, not per row,
+-- which keeps bulk imports cheap. A constant default only touches the catalog.
+
+ALTER TABLE users ADD COLUMN IF NOT EXISTS entries_version BIGINT NOT NULL DEFAULT 0;
+
+CREATE OR REPLACE FUNCTION bump_entries_version() RETURNS trigger
+LANGUAGE plpgsql AS $$
+BEGIN
+    UPDATE users SET entries_version = entries_version + 1
+    WHERE id IN (SELECT DISTINCT user_id FROM changed);
+    RETURN NULL;
+END;
+$$;
+
+DROP TRIGGER IF EXISTS entries_version_insert ON entries;
+CREATE TRIGGER entries_version_insert AFTER INSERT ON entries
+    REFERENCING NEW TABLE AS changed
+    FOR EACH STATEMENT EXECUTE FUNCTION bump_entries_version();
+
+DROP TRIGGER IF EXISTS entries_version_update ON entries;
+CREATE TRIGGER entries_version_update AFTER UPDATE ON entries
+    REFERENCING NEW TABLE AS changed
+    FOR EACH STATEMENT EXECUTE FUNCTION bump_entries_version();
+
+DROP TRIGGER IF EXISTS entries_version_delete ON entries;
+CREATE TRIGGER entries_version_delete AFTER DELETE ON entries
+    REFERENCING OLD TABLE AS changed
+    FOR EACH STATEMENT EXECUTE FUNCTION bump_entries_version();
+
+DROP TRIGGER IF EXISTS entry_tombstones_version_insert ON entry_tombstones;
+CREATE TRIGGER entry_tombstones_version_insert AFTER INSERT ON entry_tombstones
+    REFERENCING NEW TABLE AS changed
+    FOR EACH STATEMENT EXECUTE FUNCTION bump_entries_version();
@@ -0,0 +1,71 @@
+package org.mentorship.reflectly;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Base class for tests that need a real PostgreSQL database, for queries H2 cannot run.
+ * The database is TEST_DATABASE_URL (with TEST_DATABASE_USERNAME / TEST_DATABASE_PASSWORD)
+ * if set, otherwise a Testcontainers PostgreSQL shared by all test classes. Without either,
+ * the tests are skipped. Flyway migrates the database when the context starts.
+ */
+@SpringBootTest
+public abstract class PostgresIntegrationTest {
+
+    private static final String DATABASE_URL = System.getenv("TEST_DATABASE_URL");
+    private static PostgreSQLContainer<?> container;
+
+    @Autowired
+    protected JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    static void requireDatabase() {
+        assumeTrue(DATABASE_URL != null || DockerClientFactory.instance().isDockerAvailable(),
+                "Set TEST_DATABASE_URL or start Docker to run PostgreSQL tests");
+    }
+
+    @DynamicPropertySource
+    static void databaseProperties(DynamicPropertyRegistry registry) {
+        if (DATABASE_URL != null) {
+            registry.add("spring.datasource.url", () -> DATABASE_URL);
+            registry.add("spring.datasource.username", () -> System.getenv().getOrDefault("TEST_DATABASE_USERNAME", "postgres"));
+            registry.add("spring.datasource.password", () -> System.getenv().getOrDefault("TEST_DATABASE_PASSWORD", "postgres"));
+            return;
+        }
+        PostgreSQLContainer<?> postgres = startContainer();
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    private static synchronized PostgreSQLContainer<?> startContainer() {
+        if (container == null) {
+            container = new PostgreSQLContainer<>("postgres:16-alpine");
+            container.start();
+        }
+        return container;
+    }
+
+    /**
+     * Insert a credential user with a unique username; deleting it cascades to its entries.
+     */
+    protected Long createUser() {
+        return jdbcTemplate.queryForObject(
+                "INSERT INTO users (username, full_name, picture_url) VALUES (?, '', '') RETURNING id",
+                Long.class, "test-" + UUID.randomUUID());
+    }
+
+    protected void deleteUser(Long userId) {
+        jdbcTemplate.update("DELETE FROM users WHERE id = ?", userId);
+    }
+}
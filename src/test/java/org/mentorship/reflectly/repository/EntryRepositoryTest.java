@@ -0,0 +1,133 @@
+package org.mentorship.reflectly.repository;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mentorship.reflectly.PostgresIntegrationTest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.Limit;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks the plans PostgreSQL picks for the entry list queries, as Hibernate generates them:
+ * they must read a user's entries in order from idx_entries_user_created_id instead of
+ * sorting them.
+ */
+class EntryRepositoryTest extends PostgresIntegrationTest {
+
+    private static final String LIST_INDEX = "idx_entries_user_created_id";
+    private static final int ENTRIES = 20_000;
+    private static final int PAGE_SIZE = 21;
+
+    @Autowired
+    private EntryRepository entryRepository;
+
+    @Autowired
+    private CapturingStatementInspector statementInspector;
+
+    private Long userId;
+    private Long otherUserId;
+
+    @BeforeEach
+    void setUp() {
+        userId = createUser();
+        otherUserId = createUser();
+        for (Long owner : List.of(userId, otherUserId)) {
+            jdbcTemplate.update("""
+                    INSERT INTO entries (id, user_id, title, reflection, created_date, last_modified_date)
+                    SELECT gen_random_uuid(), ?, 'Entry ' || n, 'Reflection',
+                           now() - n * interval '1 minute', now() - n * interval '1 minute'
+                    FROM generate_series(1, ?) n
+                    """, owner, ENTRIES);
+        }
+        jdbcTemplate.execute("ANALYZE entries");
+    }
+
+    @AfterEach
+    void tearDown() {
+        deleteUser(userId);
+        deleteUser(otherUserId);
+    }
+
+    @Test
+    void firstPageReadsTheListIndexInOrder() {
+        statementInspector.statements.clear();
+        entryRepository.findFirstPageByUserId(userId, Limit.of(PAGE_SIZE));
+
+        assertUsesListIndex(explain(capturedListQuery(), userId, PAGE_SIZE));
+    }
+
+    @Test
+    void laterPageSeeksInTheListIndex() {
+        Map<String, Object> position = jdbcTemplate.queryForMap(
+                "SELECT created_date, id FROM entries WHERE user_id = ? ORDER BY created_date DESC, id DESC OFFSET ? LIMIT 1",
+                userId, ENTRIES / 2);
+        Timestamp createdDate = (Timestamp) position.get("created_date");
+        UUID id = (UUID) position.get("id");
+
+        statementInspector.statements.clear();
+        entryRepository.findPageByUserIdAfter(userId, createdDate.toInstant(), id, Limit.of(PAGE_SIZE));
+
+        List<String> plan = explain(capturedListQuery(), userId, createdDate, id, PAGE_SIZE);
+        assertUsesListIndex(plan);
+        assertThat(plan).anyMatch(line -> line.contains("Index Cond") && line.contains("created_date"));
+    }
+
+    private String capturedListQuery() {
+        return statementInspector.statements.stream()
+                .filter(sql -> sql.startsWith("select") && sql.contains(" from entries "))
+                .reduce((first, second) -> second)
+                .orElseThrow(() -> new AssertionError("No list query captured"));
+    }
+
+    private List<String> explain(String sql, Object... parameters) {
+        return jdbcTemplate.queryForList("EXPLAIN " + sql, String.class, parameters);
+    }
+
+    private static void assertUsesListIndex(List<String> plan) {
+        assertThat(plan)
+                .as("plan:%n%s", String.join("\n", plan))
+                .anyMatch(line -> line.contains("Index Scan using " + LIST_INDEX))
+                .noneMatch(line -> line.contains("Sort"));
+    }
+
+    /**
+     * Records the SQL of every statement Hibernate prepares.
+     */
+    static class CapturingStatementInspector implements StatementInspector {
+
+        private final List<String> statements = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            statements.add(sql);
+            return sql;
+        }
+    }
+
+    @TestConfiguration
+    static class StatementCaptureConfig {
+
+        @Bean
+        CapturingStatementInspector capturingStatementInspector() {
+            return new CapturingStatementInspector();
+        }
+
+        @Bean
+        HibernatePropertiesCustomizer statementInspectorCustomizer(CapturingStatementInspector inspector) {
+            return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, inspector);
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package org.mentorship.reflectly.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.api.client.googleapis.auth.oauth2.GoogleIdToken;
+import com.google.api.client.googleapis.auth.oauth2.GoogleIdTokenVerifier;
+import com.google.api.client.json.gson.GsonFactory;
+import com.google.api.client.testing.http.MockHttpTransport;
+import com.google.api.client.testing.http.MockLowLevelHttpResponse;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mentorship.reflectly.model.UserEntity;
+import org.mentorship.reflectly.service.UserService;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.security.KeyStore;
+import java.security.PrivateKey;
+import java.security.cert.X509Certificate;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Per-request cost of verifying a Google ID token on the legacy path, where the resource
+ * server, GoogleAuthenticationConverter and JwtExpirationFilter each verified the token,
+ * against the current path, where the resource server's decode is the only verification.
+ * Runs offline: the signing key comes from keytool and Google's certificate endpoint is
+ * served by a MockHttpTransport. The timing comparison is tagged "benchmark" and only runs
+ * with -Pbenchmark.
+ */
+@Slf4j
+class GoogleTokenVerificationBenchmarkTest {
+
+    private static final String ISSUER = "https://accounts.google.com";
+    private static final String KEY_ID = "test-key";
+    private static final String PASSWORD = "changeit";
+    private static final int WARMUP = 2000;
+    private static final int ITERATIONS = 5000;
+
+    private static final AtomicInteger decodes = new AtomicInteger();
+    private static JwtDecoder jwtDecoder;
+    private static GoogleIdTokenVerifier googleIdTokenVerifier;
+    private static UserService userService;
+    private static String token;
+
+    @BeforeAll
+    static void setUp(@TempDir Path directory) throws Exception {
+        Path keyStoreFile = directory.resolve("google.p12");
+        Process keytool = new ProcessBuilder(
+                Path.of(System.getProperty("java.home"), "bin", "keytool").toString(),
+                "-genkeypair", "-alias", KEY_ID, "-keyalg", "RSA", "-keysize", "2048", "-validity", "1",
+                "-dname", "CN=accounts.google.com", "-storetype", "PKCS12",
+                "-keystore", keyStoreFile.toString(), "-storepass", PASSWORD, "-keypass", PASSWORD)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        assertThat(keytool.waitFor()).isZero();
+
+        KeyStore keyStore = KeyStore.getInstance("PKCS12");
+        try (InputStream input = new FileInputStream(keyStoreFile.toFile())) {
+            keyStore.load(input, PASSWORD.toCharArray());
+        }
+        PrivateKey privateKey = (PrivateKey) keyStore.getKey(KEY_ID, PASSWORD.toCharArray());
+        X509Certificate certificate = (X509Certificate) keyStore.getCertificate(KEY_ID);
+
+        NimbusJwtDecoder nimbusDecoder = NimbusJwtDecoder.withPublicKey((RSAPublicKey) certificate.getPublicKey()).build();
+        nimbusDecoder.setJwtValidator(JwtValidators.createDefaultWithIssuer(ISSUER));
+        jwtDecoder = value -> {
+            decodes.incrementAndGet();
+            return nimbusDecoder.decode(value);
+        };
+
+        String pem = "-----BEGIN CERTIFICATE-----\n"
+                + Base64.getMimeEncoder().encodeToString(certificate.getEncoded())
+                + "\n-----END CERTIFICATE-----\n";
+        String certificates = new ObjectMapper().writeValueAsString(Map.of(KEY_ID, pem));
+        MockHttpTransport transport = new MockHttpTransport.Builder()
+                .setLowLevelHttpResponse(new MockLowLevelHttpResponse()
+                        .setContentType("application/json")
+                        .addHeader("Cache-Control", "public, max-age=3600")
+                        .setContent(certificates))
+                .build();
+        googleIdTokenVerifier = new GoogleIdTokenVerifier.Builder(transport, GsonFactory.getDefaultInstance()).build();
+
+        UserEntity user = new UserEntity();
+        user.setId(1L);
+        user.setEmail("user@example.com");
+        userService = mock(UserService.class);
+        when(userService.findOrCreateUser(any())).thenReturn(user);
+
+        Instant now = Instant.now();
+        SignedJWT jwt = new SignedJWT(
+                new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(KEY_ID).build(),
+                new JWTClaimsSet.Builder()
+                        .issuer(ISSUER)
+                        .subject("1234567890")
+                        .audience("client-id")
+                        .claim("email", "user@example.com")
+                        .claim("name", "User")
+                        .claim("picture", "https://example.com/user.png")
+                        .issueTime(Date.from(now))
+                        .expirationTime(Date.from(now.plusSeconds(3600)))
+                        .build());
+        jwt.sign(new RSASSASigner(privateKey));
+        token = jwt.serialize();
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void currentPathVerifiesOnce() throws Exception {
+        decodes.set(0);
+        MockFilterChain chain = currentRequest(converter(), expirationFilter());
+        assertThat(decodes.get()).isEqualTo(1);
+        assertThat(chain.getRequest()).isNotNull();
+    }
+
+    @Test
+    @Tag("benchmark")
+    void currentPathCostsLessThanTheLegacyPath() throws Exception {
+        GoogleAuthenticationConverter converter = converter();
+        JwtExpirationFilter expirationFilter = expirationFilter();
+
+        long legacy = measure(GoogleTokenVerificationBenchmarkTest::legacyRequest);
+        long current = measure(() -> currentRequest(converter, expirationFilter));
+
+        log.info("Google ID token per request: legacy {} us, current {} us", legacy / 1000, current / 1000);
+        assertThat(current)
+                .as("current %d us, legacy %d us per request", current / 1000, legacy / 1000)
+                .isLessThan(legacy);
+    }
+
+    private static GoogleAuthenticationConverter converter() {
+        return new GoogleAuthenticationConverter(userService);
+    }
+
+    private static JwtExpirationFilter expirationFilter() {
+        return new JwtExpirationFilter(new ErrorResponseWriter(new ObjectMapper()));
+    }
+
+    /**
+     * What a request did before: the resource server decoded the token, the converter
+     * verified it again with GoogleIdTokenVerifier, and the expiry filter decoded it a third time.
+     */
+    private static void legacyRequest() throws Exception {
+        Jwt jwt = jwtDecoder.decode(token);
+        GoogleIdToken idToken = googleIdTokenVerifier.verify(jwt.getTokenValue());
+        assertThat(idToken).isNotNull();
+        userService.findOrCreateUser(idToken.getPayload());
+        assertThat(jwtDecoder.decode(token).getExpiresAt()).isAfter(Instant.now());
+    }
+
+    private static MockFilterChain currentRequest(GoogleAuthenticationConverter converter,
+                                                  JwtExpirationFilter expirationFilter) throws Exception {
+        converter.convert(jwtDecoder.decode(token));
+        MockFilterChain chain = new MockFilterChain();
+        expirationFilter.doFilter(new MockHttpServletRequest("GET", "/api/entries"), new MockHttpServletResponse(), chain);
+        return chain;
+    }
+
+    private static long measure(Request request) throws Exception {
+        for (int i = 0; i < WARMUP; i++) {
+            request.run();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            request.run();
+        }
+        return (System.nanoTime() - start) / ITERATIONS;
+    }
+
+    @FunctionalInterface
+    private interface Request {
+        void run() throws Exception;
+    }
+}
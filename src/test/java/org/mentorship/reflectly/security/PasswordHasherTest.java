@@ -0,0 +1,39 @@
+package org.mentorship.reflectly.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PasswordHasherTest {
+
+    private final ExecutorService completionExecutor =
+            Executors.newSingleThreadExecutor(new CustomizableThreadFactory("completion-"));
+    private final PasswordHasher passwordHasher = new PasswordHasher(
+            new BCryptPasswordEncoder(4), new SimpleMeterRegistry(), 1, 1, 5000, completionExecutor);
+
+    @AfterEach
+    void tearDown() {
+        passwordHasher.shutdown();
+        completionExecutor.shutdown();
+    }
+
+    @Test
+    void continuationsRunOffTheHashingPool() throws Exception {
+        String encoded = passwordHasher.encode("password123").get();
+
+        String encodeThread = passwordHasher.encode("password123")
+                .thenApply(hash -> Thread.currentThread().getName()).get();
+        String matchesThread = passwordHasher.matches("password123", encoded)
+                .thenApply(matches -> Thread.currentThread().getName()).get();
+
+        assertThat(encodeThread).startsWith("completion-");
+        assertThat(matchesThread).startsWith("completion-");
+    }
+}
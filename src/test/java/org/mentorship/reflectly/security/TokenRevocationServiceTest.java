@@ -0,0 +1,95 @@
+package org.mentorship.reflectly.security;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mentorship.reflectly.PostgresIntegrationTest;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenRevocationServiceTest extends PostgresIntegrationTest {
+
+    private static final int CONCURRENT_CALLS = 16;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        userId = createUser();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM revoked_tokens WHERE user_id = ?", userId);
+        deleteUser(userId);
+    }
+
+    @Test
+    void concurrentRevocationsOfOneTokenAllSucceed() throws Exception {
+        String tokenId = UUID.randomUUID().toString();
+        Instant expiresAt = Instant.now().plus(1, ChronoUnit.HOURS);
+
+        runConcurrently(() -> tokenRevocationService.revoke(tokenId, userId, expiresAt));
+
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM revoked_tokens WHERE token_id = ?",
+                Long.class, tokenId)).isEqualTo(1);
+    }
+
+    @Test
+    void concurrentUserRevocationsAllSucceed() throws Exception {
+        runConcurrently(() -> tokenRevocationService.revokeAllForUser(userId));
+
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM revoked_tokens WHERE token_id = ?",
+                Long.class, "user:" + userId)).isEqualTo(1);
+    }
+
+    @Test
+    void revokingAUserAgainMovesTheMarkerForward() {
+        tokenRevocationService.revokeAllForUser(userId);
+        Instant earlier = Instant.now().minus(1, ChronoUnit.HOURS);
+        jdbcTemplate.update("UPDATE revoked_tokens SET revoked_at = ? WHERE token_id = ?",
+                Timestamp.from(earlier), "user:" + userId);
+
+        tokenRevocationService.revokeAllForUser(userId);
+
+        Timestamp revokedAt = jdbcTemplate.queryForObject("SELECT revoked_at FROM revoked_tokens WHERE token_id = ?",
+                Timestamp.class, "user:" + userId);
+        assertThat(revokedAt.toInstant()).isAfter(earlier.plus(59, ChronoUnit.MINUTES));
+    }
+
+    private static void runConcurrently(Runnable call) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(CONCURRENT_CALLS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> calls = new ArrayList<>();
+            for (int i = 0; i < CONCURRENT_CALLS; i++) {
+                calls.add(executor.submit(() -> {
+                    start.await();
+                    call.run();
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : calls) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
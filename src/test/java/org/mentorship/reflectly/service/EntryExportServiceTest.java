@@ -0,0 +1,155 @@
+package org.mentorship.reflectly.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mentorship.reflectly.PostgresIntegrationTest;
+import org.mentorship.reflectly.dto.ExportFormat;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EntryExportServiceTest extends PostgresIntegrationTest {
+
+    private static final int REFLECTION_LENGTH = 4000;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        userId = createUser();
+    }
+
+    @AfterEach
+    void tearDown() {
+        deleteUser(userId);
+    }
+
+    @Test
+    void exportsMoreDataThanTheHeapWithoutHoldingAConnectionWhileWriting() throws Exception {
+        // More reflection text than fits in the heap, so loading it all would fail. The text is
+        // four long words: few enough to index quickly, short enough to index without notices.
+        long rows = Runtime.getRuntime().maxMemory() * 6 / 5 / REFLECTION_LENGTH;
+        jdbcTemplate.update("""
+                INSERT INTO entries (id, user_id, title, reflection, created_date, last_modified_date)
+                SELECT gen_random_uuid(), ?, 'Entry ' || n, repeat(repeat(md5(n::text), ?) || ' ', 4),
+                       now() - n * interval '1 second', now() - n * interval '1 second'
+                FROM generate_series(1, ?) n
+                """, userId, REFLECTION_LENGTH / 4 / 32, rows);
+
+        CountingDataSource countingDataSource = new CountingDataSource(dataSource);
+        EntryExportService exportService = new EntryExportService(countingDataSource, objectMapper, 500);
+        LineCountingOutputStream output = new LineCountingOutputStream(countingDataSource);
+
+        exportService.export(userId, ExportFormat.NDJSON, output);
+
+        assertThat(output.lines).isEqualTo(rows);
+        assertThat(output.writesWithConnectionOpen).isZero();
+        assertThat(countingDataSource.open.get()).isZero();
+    }
+
+    @Test
+    void continuesPastBatchBoundariesOnEntriesWithoutCreationTime() throws Exception {
+        jdbcTemplate.update("""
+                INSERT INTO entries (id, user_id, title, reflection, created_date, last_modified_date)
+                SELECT gen_random_uuid(), ?, 'Entry ' || n, 'Reflection',
+                       CASE WHEN n <= 5 THEN NULL ELSE now() - n * interval '1 second' END, now()
+                FROM generate_series(1, 10) n
+                """, userId);
+        List<String> expected = jdbcTemplate.queryForList(
+                "SELECT id::text FROM entries WHERE user_id = ? ORDER BY created_date DESC, id DESC",
+                String.class, userId);
+
+        EntryExportService exportService = new EntryExportService(dataSource, objectMapper, 2);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        exportService.export(userId, ExportFormat.NDJSON, output);
+
+        List<String> exported = new ArrayList<>();
+        for (String line : output.toString(StandardCharsets.UTF_8).split("\n")) {
+            JsonNode entry = objectMapper.readTree(line);
+            exported.add(entry.get("id").asText());
+        }
+        assertThat(exported).containsExactlyElementsOf(expected);
+    }
+
+    /**
+     * Tracks how many connections borrowed through it are still open.
+     */
+    private static class CountingDataSource extends DelegatingDataSource {
+
+        private final AtomicInteger open = new AtomicInteger();
+
+        CountingDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            Connection connection = super.getConnection();
+            open.incrementAndGet();
+            return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> {
+                        if (method.getName().equals("close")) {
+                            open.decrementAndGet();
+                        }
+                        try {
+                            return method.invoke(connection, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                    });
+        }
+    }
+
+    /**
+     * Counts lines and discards them, noting any write made while a connection is borrowed.
+     */
+    private static class LineCountingOutputStream extends OutputStream {
+
+        private final CountingDataSource dataSource;
+        private long lines;
+        private int writesWithConnectionOpen;
+
+        LineCountingOutputStream(CountingDataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+
+        @Override
+        public void write(int b) {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            if (dataSource.open.get() > 0) {
+                writesWithConnectionOpen++;
+            }
+            for (int i = off; i < off + len; i++) {
+                if (b[i] == '\n') {
+                    lines++;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package org.mentorship.reflectly.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.mentorship.reflectly.PostgresIntegrationTest;
+import org.mentorship.reflectly.dto.EntryCursor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.Arrays;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Latency of the first and a deep page of a heavy journaler's entries, with keyset cursors
+ * and with offset pages. Logs the median of each; cursor pages should cost the same
+ * however deep they are, while offset pages grow with the offset. Runs with -Pbenchmark.
+ */
+@Slf4j
+@Tag("benchmark")
+class EntryPaginationBenchmarkTest extends PostgresIntegrationTest {
+
+    private static final int ENTRIES = 50_000;
+    private static final int PAGE_SIZE = 100;
+    private static final int DEEP_PAGE = ENTRIES / PAGE_SIZE - 1;
+    private static final int WARMUP = 20;
+    private static final int ITERATIONS = 50;
+
+    @Autowired
+    private EntryService entryService;
+
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        userId = createUser();
+        jdbcTemplate.update("""
+                INSERT INTO entries (id, user_id, title, reflection, created_date, last_modified_date)
+                SELECT gen_random_uuid(), ?, 'Entry ' || n, 'Reflection',
+                       now() - n * interval '1 minute', now() - n * interval '1 minute'
+                FROM generate_series(1, ?) n
+                """, userId, ENTRIES);
+        jdbcTemplate.execute("ANALYZE entries");
+    }
+
+    @AfterEach
+    void tearDown() {
+        deleteUser(userId);
+    }
+
+    @Test
+    void deepCursorPagesCostTheSameAsTheFirstPage() {
+        // The last entry of the page before the deep page, as a client would have it from nextCursor
+        EntryCursor deepCursor = jdbcTemplate.queryForObject("""
+                        SELECT created_date, id FROM entries WHERE user_id = ?
+                        ORDER BY created_date DESC, id DESC OFFSET ? LIMIT 1
+                        """,
+                (rs, rowNum) -> new EntryCursor(rs.getTimestamp(1).toInstant(), rs.getObject(2, UUID.class)),
+                userId, DEEP_PAGE * PAGE_SIZE - 1);
+
+        long cursorFirst = median(() -> entryService.getEntriesPage(userId, null, PAGE_SIZE, false).content().size());
+        long cursorDeep = median(() -> entryService.getEntriesPage(userId, deepCursor, PAGE_SIZE, false).content().size());
+        long offsetFirst = median(() -> offsetPage(0));
+        long offsetDeep = median(() -> offsetPage(DEEP_PAGE));
+
+        String timings = String.format("page %d of %d entries: cursor %d us (first %d us), offset %d us (first %d us)",
+                DEEP_PAGE, ENTRIES, cursorDeep / 1000, cursorFirst / 1000, offsetDeep / 1000, offsetFirst / 1000);
+        log.info("Median latency of {}", timings);
+        assertThat(cursorDeep).as(timings).isLessThan(offsetDeep);
+        assertThat(cursorDeep).as(timings).isLessThan(cursorFirst * 3);
+    }
+
+    private int offsetPage(int page) {
+        return entryService.getEntries(userId, null, null, "UTC", null, null, PageRequest.of(page, PAGE_SIZE))
+                .getContent().size();
+    }
+
+    /**
+     * Median latency of a page read, after checking it returned a full page.
+     */
+    private static long median(PageRead read) {
+        for (int i = 0; i < WARMUP; i++) {
+            assertThat(read.size()).isEqualTo(PAGE_SIZE);
+        }
+        long[] nanos = new long[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            read.size();
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        return nanos[ITERATIONS / 2];
+    }
+
+    @FunctionalInterface
+    private interface PageRead {
+        int size();
+    }
+}
@@ -0,0 +1,144 @@
+package org.mentorship.reflectly.service;
+
+import com.sun.management.ThreadMXBean;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.mentorship.reflectly.PostgresIntegrationTest;
+import org.mentorship.reflectly.converter.EntryConverter;
+import org.mentorship.reflectly.dto.EntryResponseDto;
+import org.mentorship.reflectly.model.EntryEntity;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares reading a page of entries as managed entities, the way reads worked before,
+ * with the row projection the service now uses. The comparison logs latency and allocation
+ * per page and runs with -Pbenchmark; the statement counts are checked in every build.
+ */
+@Slf4j
+class EntryReadBenchmarkTest extends PostgresIntegrationTest {
+
+    private static final int ENTRIES = 1000;
+    private static final int PAGE_SIZE = 100;
+    private static final int WARMUP = 200;
+    private static final int ITERATIONS = 500;
+
+    @Autowired
+    private EntryService entryService;
+
+    @Autowired
+    private EntryConverter entryConverter;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate readOnly;
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        userId = createUser();
+        jdbcTemplate.update("""
+                INSERT INTO entries (id, user_id, title, reflection, created_date, last_modified_date)
+                SELECT gen_random_uuid(), ?, 'Entry ' || n, repeat('Reflection ', 20),
+                       now() - n * interval '1 minute', now() - n * interval '1 minute'
+                FROM generate_series(1, ?) n
+                """, userId, ENTRIES);
+        jdbcTemplate.update("""
+                INSERT INTO entry_emotions (entry_id, emotion)
+                SELECT e.id, emotion FROM entries e CROSS JOIN (VALUES ('happy'), ('calm')) v(emotion)
+                WHERE e.user_id = ?
+                """, userId);
+    }
+
+    @AfterEach
+    void tearDown() {
+        deleteUser(userId);
+    }
+
+    @Test
+    @Tag("benchmark")
+    void projectionReadsAllocateLessThanEntityReads() {
+        Measurement entities = measure(this::readEntityPage);
+        Measurement rows = measure(this::readRowPage);
+
+        String costs = String.format("page of %d entries: entities %d us, %d KB; rows %d us, %d KB", PAGE_SIZE,
+                entities.nanos() / 1000, entities.bytes() / 1024, rows.nanos() / 1000, rows.bytes() / 1024);
+        log.info("Cost of a {}", costs);
+        assertThat(rows.bytes()).as(costs).isLessThan(entities.bytes());
+    }
+
+    @Test
+    void readsAPageOrAnEntryInOneStatement() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        try {
+            statistics.clear();
+            List<EntryResponseDto> page = readRowPage();
+            assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+            statistics.clear();
+            EntryResponseDto entry = entryService.getEntryById(userId, page.get(0).getId());
+            assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+            assertThat(entry.getEmotions()).containsExactly("calm", "happy");
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
+    }
+
+    private List<EntryResponseDto> readEntityPage() {
+        return readOnly.execute(status -> entityManager.createQuery(
+                        "SELECT e FROM EntryEntity e WHERE e.userId = :userId ORDER BY e.createdDate DESC, e.id DESC",
+                        EntryEntity.class)
+                .setParameter("userId", userId)
+                .setMaxResults(PAGE_SIZE)
+                .getResultStream()
+                .map(entryConverter::toResponseDto)
+                // Serializing the response initializes each lazy emotion collection
+                .peek(entry -> entry.getEmotions().size())
+                .toList());
+    }
+
+    private List<EntryResponseDto> readRowPage() {
+        return entryService.getEntriesPage(userId, null, PAGE_SIZE, false).content();
+    }
+
+    private static Measurement measure(Supplier<List<EntryResponseDto>> read) {
+        for (int i = 0; i < WARMUP; i++) {
+            read.get();
+        }
+        ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long allocated = threads.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            assertThat(read.get()).hasSize(PAGE_SIZE);
+        }
+        return new Measurement((System.nanoTime() - start) / ITERATIONS,
+                (threads.getCurrentThreadAllocatedBytes() - allocated) / ITERATIONS);
+    }
+
+    private record Measurement(long nanos, long bytes) {
+    }
+}
@@ -0,0 +1,129 @@
+package org.mentorship.reflectly.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mentorship.reflectly.PostgresIntegrationTest;
+import org.mentorship.reflectly.dto.EmotionMatch;
+import org.mentorship.reflectly.dto.EntryResponseDto;
+import org.mentorship.reflectly.dto.EntrySearchResultDto;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Every read of a page of entries, emotions included, takes the same number of statements
+ * whatever the page size, so no path loads emotions one entry at a time.
+ */
+class EntryReadStatementCountTest extends PostgresIntegrationTest {
+
+    private static final int ENTRIES = 150;
+    private static final int SMALL_PAGE = 10;
+    private static final int LARGE_PAGE = 100;
+
+    @Autowired
+    private EntryService entryService;
+
+    @Autowired
+    private EntryChangeService entryChangeService;
+
+    @Autowired
+    private EmotionDictionary emotionDictionary;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Statistics statistics;
+    private TransactionTemplate readOnly;
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        userId = createUser();
+        jdbcTemplate.update("""
+                INSERT INTO entries (id, user_id, title, reflection, created_date, last_modified_date)
+                SELECT gen_random_uuid(), ?, 'Entry ' || n, 'A quiet walk by the river',
+                       now() - n * interval '1 minute', now() - n * interval '1 minute'
+                FROM generate_series(1, ?) n
+                """, userId, ENTRIES);
+        jdbcTemplate.update("""
+                INSERT INTO entry_emotions (entry_id, emotion)
+                SELECT e.id, emotion FROM entries e CROSS JOIN (VALUES ('happy'), ('calm')) v(emotion)
+                WHERE e.user_id = ?
+                """, userId);
+        // Keep the emotion mask in step with entry_emotions, as the application does on writes
+        jdbcTemplate.update("UPDATE entries SET emotion_mask = ? WHERE user_id = ?",
+                emotionDictionary.mask(List.of("happy", "calm")), userId);
+    }
+
+    @AfterEach
+    void tearDown() {
+        statistics.setStatisticsEnabled(false);
+        deleteUser(userId);
+    }
+
+    @Test
+    void offsetPages() {
+        assertConstantStatements(size -> entryService.getEntries(userId, null, null, "UTC", null, null,
+                PageRequest.of(0, size)).getContent());
+    }
+
+    @Test
+    void emotionFilteredPages() {
+        assertConstantStatements(size -> entryService.getEntries(userId, null, null, "UTC",
+                List.of("happy", "calm"), EmotionMatch.ALL, PageRequest.of(0, size)).getContent());
+    }
+
+    @Test
+    void cursorPages() {
+        assertConstantStatements(size -> entryService.getEntriesPage(userId, null, size, true).content());
+    }
+
+    @Test
+    void searchPages() {
+        assertConstantStatements(size -> entryService.searchEntries(userId, "river", PageRequest.of(0, size))
+                .map(EntrySearchResultDto::getEntry).getContent());
+    }
+
+    @Test
+    void changeFeedPages() {
+        assertConstantStatements(size -> entryChangeService.getChanges(userId, null, size).getChanged());
+    }
+
+    /**
+     * Read a small and a large page and compare their statement counts. Emotions are read
+     * inside the transaction, the way response serialization reads them with the session
+     * still open.
+     */
+    private void assertConstantStatements(IntFunction<List<EntryResponseDto>> read) {
+        long small = statements(read, SMALL_PAGE);
+        long large = statements(read, LARGE_PAGE);
+        assertThat(large).isEqualTo(small);
+    }
+
+    private long statements(IntFunction<List<EntryResponseDto>> read, int size) {
+        statistics.clear();
+        readOnly.executeWithoutResult(status -> {
+            List<EntryResponseDto> page = read.apply(size);
+            assertThat(page).hasSize(size);
+            page.forEach(entry -> assertThat(entry.getEmotions()).containsExactlyInAnyOrder("happy", "calm"));
+        });
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -0,0 +1,54 @@
+package org.mentorship.reflectly.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mentorship.reflectly.PostgresIntegrationTest;
+import org.mentorship.reflectly.dto.EntryRequestDto;
+import org.mentorship.reflectly.dto.EntryResponseDto;
+import org.mentorship.reflectly.dto.EntrySearchResultDto;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Search with the in-memory index, which still returns an entry deleted behind its back.
+ */
+@TestPropertySource(properties = "app.search.engine=memory")
+class EntrySearchStaleHitTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private EntryService entryService;
+
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        userId = createUser();
+    }
+
+    @AfterEach
+    void tearDown() {
+        deleteUser(userId);
+    }
+
+    @Test
+    void hitsForMissingEntriesAreDropped() {
+        EntryResponseDto kept = entryService.createEntry(userId,
+                new EntryRequestDto("River walk", "A quiet walk by the river", List.of("calm")));
+        EntryResponseDto deleted = entryService.createEntry(userId,
+                new EntryRequestDto("River swim", "A cold swim in the river", List.of("happy")));
+        // Bypasses the service, so the index keeps the entry
+        jdbcTemplate.update("DELETE FROM entries WHERE id::text = ?", deleted.getId());
+
+        Page<EntrySearchResultDto> page = entryService.searchEntries(userId, "river", PageRequest.of(0, 10));
+
+        assertThat(page.getContent()).extracting(result -> result.getEntry().getId()).containsExactly(kept.getId());
+        assertThat(page.getTotalElements()).isEqualTo(1);
+    }
+}
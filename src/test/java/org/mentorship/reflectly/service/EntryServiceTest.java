@@ -0,0 +1,64 @@
+package org.mentorship.reflectly.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mentorship.reflectly.PostgresIntegrationTest;
+import org.mentorship.reflectly.dto.EntryRequestDto;
+import org.mentorship.reflectly.dto.EntryResponseDto;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EntryServiceTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private EntryService entryService;
+
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        userId = createUser();
+    }
+
+    @AfterEach
+    void tearDown() {
+        deleteUser(userId);
+    }
+
+    @Test
+    void identicalUpdateWritesNothing() {
+        EntryResponseDto created = entryService.createEntry(userId,
+                new EntryRequestDto("Walk", "By the river", List.of("happy", "calm")));
+        String etag = entryService.getEntryETag(userId, created.getId()).orElseThrow();
+        long entriesVersion = entriesVersion();
+
+        // Same emotions in another order are the same set
+        EntryResponseDto updated = entryService.updateEntry(userId, created.getId(),
+                new EntryRequestDto("Walk", "By the river", List.of("calm", "happy")), null);
+
+        assertThat(updated.getVersion()).isEqualTo(created.getVersion());
+        assertThat(entryService.getEntryETag(userId, created.getId())).contains(etag);
+        assertThat(entriesVersion()).isEqualTo(entriesVersion);
+    }
+
+    @Test
+    void updateWithOtherEmotionsReplacesThem() {
+        EntryResponseDto created = entryService.createEntry(userId,
+                new EntryRequestDto("Walk", "By the river", List.of("happy", "calm")));
+
+        EntryResponseDto updated = entryService.updateEntry(userId, created.getId(),
+                new EntryRequestDto("Walk", "By the river", List.of("sad")), null);
+
+        assertThat(updated.getVersion()).isGreaterThan(created.getVersion());
+        assertThat(jdbcTemplate.queryForList("SELECT emotion FROM entry_emotions WHERE entry_id::text = ?",
+                String.class, created.getId())).containsExactly("sad");
+    }
+
+    private long entriesVersion() {
+        return jdbcTemplate.queryForObject("SELECT entries_version FROM users WHERE id = ?", Long.class, userId);
+    }
+}
@@ -0,0 +1,119 @@
+package org.mentorship.reflectly.service;
+
+import com.google.api.client.googleapis.auth.oauth2.GoogleIdToken;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mentorship.reflectly.PostgresIntegrationTest;
+import org.mentorship.reflectly.model.UserEntity;
+import org.mentorship.reflectly.security.UserPrincipalCache;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserServiceTest extends PostgresIntegrationTest {
+
+    private static final int ACCOUNTS = 20;
+    private static final int LOGINS_PER_ACCOUNT = 16;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserPrincipalCache userPrincipalCache;
+
+    private final List<String> emails = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        emails.forEach(email -> jdbcTemplate.update("DELETE FROM users WHERE email = ?", email));
+    }
+
+    @Test
+    void parallelFirstLoginsForOneAccountResolveToOneUser() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(LOGINS_PER_ACCOUNT);
+        try {
+            for (int account = 0; account < ACCOUNTS; account++) {
+                String email = newEmail();
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<UserEntity>> logins = new ArrayList<>();
+                for (int i = 0; i < LOGINS_PER_ACCOUNT; i++) {
+                    logins.add(executor.submit(() -> {
+                        start.await();
+                        return userService.findOrCreateUser(payload(email, "User"));
+                    }));
+                }
+                start.countDown();
+
+                Set<Long> ids = new HashSet<>();
+                for (Future<UserEntity> login : logins) {
+                    ids.add(login.get().getId());
+                }
+                assertThat(ids).hasSize(1);
+                assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM users WHERE email = ?", Long.class, email))
+                        .isEqualTo(1);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void repeatLoginOnlyWritesWhenTheProfileChanged() {
+        String email = newEmail();
+        Long id = userService.findOrCreateUser(payload(email, "User")).getId();
+        String version = rowVersion(email);
+
+        assertThat(userService.findOrCreateUser(payload(email, "User")).getId()).isEqualTo(id);
+        assertThat(rowVersion(email)).isEqualTo(version);
+
+        UserEntity renamed = userService.findOrCreateUser(payload(email, "Renamed"));
+        assertThat(renamed.getId()).isEqualTo(id);
+        assertThat(renamed.getFullName()).isEqualTo("Renamed");
+        assertThat(rowVersion(email)).isNotEqualTo(version);
+    }
+
+    @Test
+    void repeatLoginKeepsTheCachedPrincipalUnlessTheProfileChanged() {
+        String email = newEmail();
+        Long id = userService.findOrCreateUser(payload(email, "User")).getId();
+        UserEntity cached = userPrincipalCache.get(id);
+
+        userService.findOrCreateUser(payload(email, "User"));
+        assertThat(userPrincipalCache.get(id)).isSameAs(cached);
+
+        userService.findOrCreateUser(payload(email, "Renamed"));
+        assertThat(userPrincipalCache.get(id)).isNotSameAs(cached)
+                .extracting(UserEntity::getFullName).isEqualTo("Renamed");
+    }
+
+    private String newEmail() {
+        String email = "test-" + UUID.randomUUID() + "@example.com";
+        emails.add(email);
+        return email;
+    }
+
+    /**
+     * The row's xmin, which changes whenever the row is written.
+     */
+    private String rowVersion(String email) {
+        return jdbcTemplate.queryForObject("SELECT xmin::text FROM users WHERE email = ?", String.class, email);
+    }
+
+    private static GoogleIdToken.Payload payload(String email, String name) {
+        GoogleIdToken.Payload payload = new GoogleIdToken.Payload();
+        payload.setEmail(email);
+        payload.set("name", name);
+        payload.set("picture", "https://example.com/picture.png");
+        return payload;
+    }
+}